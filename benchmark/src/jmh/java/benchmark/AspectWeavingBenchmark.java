@@ -0,0 +1,105 @@
+package benchmark;
+
+import io.wisoft.daewon.aspect.CacheAspect;
+import io.wisoft.daewon.aspect.ExeTimeAspect;
+import io.wisoft.daewon.calculator.Calculator;
+import io.wisoft.daewon.calculator.ImpeCalculator;
+import io.wisoft.daewon.metrics.LatencyMetrics;
+import org.aspectj.lang.Aspects;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.concurrent.TimeUnit;
+
+// ExeTimeAspect(히스토그램 기록) + CacheAspect를 적용한 factorial 호출 비용 (캐시에 있는 값 조회)
+// - jdkProxy, cglibProxy: 스프링 AOP 프록시 (AspectJProxyFactory)
+// - woven: 로드 타임 위빙 (META-INF/aop-weaving.xml을 지정한 별도 포크에서만 실행)
+// 위빙은 JVM 전체에 적용되므로 woven만 다른 포크 설정을 사용함. -javaagent는 gradle 설정의 jvmArgs로 추가
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class AspectWeavingBenchmark {
+
+  @State(Scope.Benchmark)
+  public static class Proxied {
+
+    @Param({"5", "20"})
+    private long num;
+
+    private Calculator raw;
+    private Calculator jdkProxy;
+    private Calculator cglibProxy;
+
+    @Setup
+    public void setUp() {
+      if (Aspects.hasAspect(ExeTimeAspect.class)) {
+        throw new IllegalStateException("calculators are woven in this fork; proxies would run the advice twice");
+      }
+      raw = new ImpeCalculator();
+      jdkProxy = proxy(false);
+      cglibProxy = proxy(true);
+    }
+
+    private static Calculator proxy(final boolean proxyTargetClass) {
+      AspectJProxyFactory factory = new AspectJProxyFactory(new ImpeCalculator());
+      factory.setProxyTargetClass(proxyTargetClass);
+      factory.addAspect(new ExeTimeAspect(new LatencyMetrics()));
+      factory.addAspect(new CacheAspect());
+      return factory.getProxy();
+    }
+
+  }
+
+  @State(Scope.Benchmark)
+  public static class Woven {
+
+    @Param({"5", "20"})
+    private long num;
+
+    private Calculator woven;
+
+    @Setup
+    public void setUp() {
+      if (!Aspects.hasAspect(ExeTimeAspect.class)) {
+        throw new IllegalStateException("load-time weaving is not active: run with -javaagent:aspectjweaver.jar");
+      }
+      Aspects.aspectOf(ExeTimeAspect.class).setMetrics(new LatencyMetrics());
+      woven = new ImpeCalculator();
+    }
+
+  }
+
+  @Benchmark
+  public long raw(final Proxied state) {
+    return state.raw.factorial(state.num);
+  }
+
+  @Benchmark
+  public long jdkProxy(final Proxied state) {
+    return state.jdkProxy.factorial(state.num);
+  }
+
+  @Benchmark
+  public long cglibProxy(final Proxied state) {
+    return state.cglibProxy.factorial(state.num);
+  }
+
+  @Benchmark
+  @Fork(value = 2, jvmArgsAppend = "-Dorg.aspectj.weaver.loadtime.configuration=META-INF/aop-weaving.xml")
+  public long woven(final Woven state) {
+    return state.woven.factorial(state.num);
+  }
+
+}
@@ -0,0 +1,52 @@
+package benchmark;
+
+import org.apache.tomcat.jdbc.pool.DataSource;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import spring.ChangePasswordService;
+import spring.MemberDao;
+import spring.MemberRegisterService;
+
+// chapter08 AppCtx와 같은 구성에서 DataSource만 H2로 바꾼 설정
+@Configuration
+@EnableTransactionManagement
+public class BenchmarkAppCtx {
+
+  @Bean(destroyMethod = "close")
+  public DataSource dataSource() {
+    DataSource ds = H2Database.create("serviceBenchmark");
+    H2Database.insertMembers(ds, MemberServiceBenchmark.MEMBERS);
+    return ds;
+  }
+
+  @Bean
+  public PlatformTransactionManager transactionManager() {
+    DataSourceTransactionManager tm = new DataSourceTransactionManager();
+    tm.setDataSource(dataSource());
+    return tm;
+  }
+
+  @Bean(destroyMethod = "close")
+  public MemberDao memberDao() {
+    // H2는 ON CONFLICT (EMAIL)을 지원하지 않음
+    MemberDao memberDao = new MemberDao(dataSource());
+    memberDao.setUpsertSupported(false);
+    return memberDao;
+  }
+
+  @Bean
+  public MemberRegisterService memberRegisterService() {
+    return new MemberRegisterService(memberDao());
+  }
+
+  @Bean
+  public ChangePasswordService changePasswordService() {
+    ChangePasswordService pwdSvc = new ChangePasswordService();
+    pwdSvc.setMemberDao(memberDao());
+    return pwdSvc;
+  }
+
+}
@@ -0,0 +1,124 @@
+package benchmark;
+
+import org.aopalliance.aop.Advice;
+import org.apache.tomcat.jdbc.pool.DataSource;
+import org.springframework.aop.config.AopConfigUtils;
+import org.springframework.aop.framework.autoproxy.InfrastructureAdvisorAutoProxyCreator;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.Ordered;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.config.TransactionManagementConfigUtils;
+import org.springframework.transaction.interceptor.BeanFactoryTransactionAttributeSourceAdvisor;
+import org.springframework.transaction.interceptor.TransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+import spring.ChangePasswordService;
+import spring.MemberDao;
+import spring.MemberRegisterService;
+
+// AotGenerator가 benchmark.BenchmarkAppCtx로부터 생성한 코드
+// 직접 고치지 말고 설정 클래스를 바꾼 뒤 다시 생성: java aot.AotGenerator benchmark.BenchmarkAppCtx <소스 루트 디렉터리>
+public final class BenchmarkAppCtxAot {
+
+  private BenchmarkAppCtxAot() {
+  }
+
+  public static GenericApplicationContext create() {
+    GenericApplicationContext ctx = new GenericApplicationContext();
+    registerBeans(ctx);
+    ctx.refresh();
+    return ctx;
+  }
+
+  public static void registerBeans(final GenericApplicationContext ctx) {
+    Beans beans = new Beans(ctx);
+    // @EnableTransactionManagement: @Transactional 빈을 프록시로 감싸는 빈
+    ctx.registerBean(AopConfigUtils.AUTO_PROXY_CREATOR_BEAN_NAME, InfrastructureAdvisorAutoProxyCreator.class, () -> {
+      InfrastructureAdvisorAutoProxyCreator creator = new InfrastructureAdvisorAutoProxyCreator();
+      creator.setOrder(Ordered.HIGHEST_PRECEDENCE);
+      return creator;
+    }, bd -> bd.setRole(BeanDefinition.ROLE_INFRASTRUCTURE));
+    ctx.registerBean("transactionAttributeSource", TransactionAttributeSource.class,
+        () -> new AnnotationTransactionAttributeSource(), bd -> bd.setRole(BeanDefinition.ROLE_INFRASTRUCTURE));
+    ctx.registerBean("transactionInterceptor", TransactionInterceptor.class, () -> {
+      TransactionInterceptor interceptor = new TransactionInterceptor();
+      interceptor.setTransactionAttributeSource(ctx.getBean("transactionAttributeSource", TransactionAttributeSource.class));
+      return interceptor;
+    }, bd -> bd.setRole(BeanDefinition.ROLE_INFRASTRUCTURE));
+    ctx.registerBean(TransactionManagementConfigUtils.TRANSACTION_ADVISOR_BEAN_NAME, BeanFactoryTransactionAttributeSourceAdvisor.class, () -> {
+      BeanFactoryTransactionAttributeSourceAdvisor advisor = new BeanFactoryTransactionAttributeSourceAdvisor();
+      advisor.setTransactionAttributeSource(ctx.getBean("transactionAttributeSource", TransactionAttributeSource.class));
+      advisor.setAdvice(ctx.getBean("transactionInterceptor", Advice.class));
+      return advisor;
+    }, bd -> bd.setRole(BeanDefinition.ROLE_INFRASTRUCTURE));
+    ctx.registerBean("changePasswordService", ChangePasswordService.class, beans::newChangePasswordService,
+        bd -> bd.setDestroyMethodName(AbstractBeanDefinition.INFER_METHOD));
+    ctx.registerBean("dataSource", DataSource.class, beans::newDataSource,
+        bd -> bd.setDestroyMethodName("close"));
+    ctx.registerBean("memberDao", MemberDao.class, beans::newMemberDao,
+        bd -> bd.setDestroyMethodName("close"));
+    ctx.registerBean("memberRegisterService", MemberRegisterService.class, beans::newMemberRegisterService,
+        bd -> bd.setDestroyMethodName(AbstractBeanDefinition.INFER_METHOD));
+    ctx.registerBean("transactionManager", PlatformTransactionManager.class, beans::newTransactionManager,
+        bd -> bd.setDestroyMethodName(AbstractBeanDefinition.INFER_METHOD));
+  }
+
+  // @Bean 메서드 사이의 호출을 컨테이너의 싱글톤으로 연결 (CGLIB으로 확장한 설정 클래스가 하던 일)
+  private static class Beans extends BenchmarkAppCtx {
+
+    private final GenericApplicationContext ctx;
+
+    private Beans(final GenericApplicationContext ctx) {
+      this.ctx = ctx;
+    }
+
+    @Override
+    public ChangePasswordService changePasswordService() {
+      return ctx.getBean("changePasswordService", ChangePasswordService.class);
+    }
+
+    @Override
+    public DataSource dataSource() {
+      return ctx.getBean("dataSource", DataSource.class);
+    }
+
+    @Override
+    public MemberDao memberDao() {
+      return ctx.getBean("memberDao", MemberDao.class);
+    }
+
+    @Override
+    public MemberRegisterService memberRegisterService() {
+      return ctx.getBean("memberRegisterService", MemberRegisterService.class);
+    }
+
+    @Override
+    public PlatformTransactionManager transactionManager() {
+      return ctx.getBean("transactionManager", PlatformTransactionManager.class);
+    }
+
+    private ChangePasswordService newChangePasswordService() {
+      return super.changePasswordService();
+    }
+
+    private DataSource newDataSource() {
+      return super.dataSource();
+    }
+
+    private MemberDao newMemberDao() {
+      return super.memberDao();
+    }
+
+    private MemberRegisterService newMemberRegisterService() {
+      return super.memberRegisterService();
+    }
+
+    private PlatformTransactionManager newTransactionManager() {
+      return super.transactionManager();
+    }
+
+  }
+
+}
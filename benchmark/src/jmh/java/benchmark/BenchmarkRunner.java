@@ -0,0 +1,41 @@
+package benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+
+// 결과를 results/<라벨>.json으로 저장해서 커밋 사이의 결과를 비교할 수 있게 함
+// 사용법: BenchmarkRunner [라벨(기본값: local)] [벤치마크 이름 정규식(기본값: 전체)]
+public class BenchmarkRunner {
+
+  public static void main(String... args) throws RunnerException {
+    String label = args.length > 0 ? args[0] : "local";
+    String include = args.length > 1 ? args[1] : "benchmark\\..*";
+
+    File results = new File("results");
+    if (!results.isDirectory() && !results.mkdirs()) {
+      throw new IllegalStateException("cannot create " + results.getAbsolutePath());
+    }
+
+    ChainedOptionsBuilder builder = new OptionsBuilder()
+        .include(include)
+        .resultFormat(ResultFormatType.JSON)
+        .result(new File(results, label + ".json").getPath());
+    String agent = aspectjWeaverJar();
+    if (agent != null) builder.jvmArgs("-javaagent:" + agent);
+    new Runner(builder.build()).run();
+  }
+
+  // AspectWeavingBenchmark.woven 포크에서 사용할 위빙 에이전트 (클래스패스에서 찾음)
+  private static String aspectjWeaverJar() {
+    for (String path : System.getProperty("java.class.path").split(File.pathSeparator)) {
+      if (new File(path).getName().startsWith("aspectjweaver")) return path;
+    }
+    return null;
+  }
+
+}
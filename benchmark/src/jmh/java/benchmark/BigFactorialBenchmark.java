@@ -0,0 +1,112 @@
+package benchmark;
+
+import io.wisoft.daewon.calculator.BigCalculator;
+import io.wisoft.daewon.calculator.Calculator;
+import io.wisoft.daewon.calculator.ImpeCalculator;
+import io.wisoft.daewon.calculator.PrimeSwingCalculator;
+import io.wisoft.daewon.calculator.RecCalculator;
+import io.wisoft.daewon.calculator.SplitCalculator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigInteger;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+// 큰 n의 정확한 factorial 계산 시간 비교
+// - split: 1..n 구간을 이진 분할로 곱함
+// - primeSwing: 소인수 분해 기반 swing 알고리즘
+// - *Parallel: ForkJoinPool.commonPool() 사용 (코어 수만큼만 효과가 있음)
+// - Small: long 결과가 넘치지 않는 20!에서 기존 Calculator와 비교
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BigFactorialBenchmark {
+
+  @Param({"10000", "100000", "1000000"})
+  private long num;
+
+  private BigCalculator split;
+  private BigCalculator splitParallel;
+  private BigCalculator primeSwing;
+  private BigCalculator primeSwingParallel;
+
+  @Setup
+  public void setUp() {
+    ForkJoinPool pool = ForkJoinPool.commonPool();
+    split = new SplitCalculator();
+    splitParallel = new SplitCalculator(pool);
+    primeSwing = new PrimeSwingCalculator();
+    primeSwingParallel = new PrimeSwingCalculator(pool, 0);
+  }
+
+  @Benchmark
+  public BigInteger split() {
+    return split.factorial(num);
+  }
+
+  @Benchmark
+  public BigInteger splitParallel() {
+    return splitParallel.factorial(num);
+  }
+
+  @Benchmark
+  public BigInteger primeSwing() {
+    return primeSwing.factorial(num);
+  }
+
+  @Benchmark
+  public BigInteger primeSwingParallel() {
+    return primeSwingParallel.factorial(num);
+  }
+
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  @Warmup(iterations = 5, time = 1)
+  @Measurement(iterations = 5, time = 1)
+  @Fork(1)
+  @State(Scope.Benchmark)
+  public static class Small {
+
+    private long num = 20;
+
+    private final Calculator impe = new ImpeCalculator();
+    private final Calculator rec = new RecCalculator();
+    private final BigCalculator split = new SplitCalculator();
+    private final BigCalculator primeSwing = new PrimeSwingCalculator();
+
+    @Benchmark
+    public long impe() {
+      return impe.factorial(num);
+    }
+
+    @Benchmark
+    public long rec() {
+      return rec.factorial(num);
+    }
+
+    @Benchmark
+    public BigInteger split() {
+      return split.factorial(num);
+    }
+
+    @Benchmark
+    public BigInteger primeSwing() {
+      return primeSwing.factorial(num);
+    }
+
+  }
+
+}
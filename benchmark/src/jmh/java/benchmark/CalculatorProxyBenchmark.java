@@ -0,0 +1,69 @@
+package benchmark;
+
+import io.wisoft.daewon.calculator.Calculator;
+import io.wisoft.daewon.calculator.RecCalculator;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.framework.ProxyFactory;
+
+import java.util.concurrent.TimeUnit;
+
+// chapter07 Calculator.factorial을 직접 호출할 때와 스프링 AOP 프록시(JDK/CGLIB)를 거칠 때의 비용
+// 어드바이스는 바로 proceed()만 하므로 차이는 프록시 호출 경로 자체의 비용
+// (RecCalculator의 재귀 호출은 this를 거치므로 프록시는 바깥 호출 한 번에만 적용됨)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class CalculatorProxyBenchmark {
+
+  @Param({"5", "20"})
+  private long num;
+
+  private Calculator raw;
+  private Calculator jdkProxy;
+  private Calculator cglibProxy;
+
+  @Setup
+  public void setUp() {
+    raw = new RecCalculator();
+    jdkProxy = proxy(false);
+    cglibProxy = proxy(true);
+  }
+
+  private static Calculator proxy(final boolean proxyTargetClass) {
+    ProxyFactory factory = new ProxyFactory(new RecCalculator());
+    factory.setProxyTargetClass(proxyTargetClass);
+    if (!proxyTargetClass) factory.addInterface(Calculator.class);
+    factory.addAdvice((MethodInterceptor) invocation -> invocation.proceed());
+    return (Calculator) factory.getProxy();
+  }
+
+  @Benchmark
+  public long raw() {
+    return raw.factorial(num);
+  }
+
+  @Benchmark
+  public long jdkProxy() {
+    return jdkProxy.factorial(num);
+  }
+
+  @Benchmark
+  public long cglibProxy() {
+    return cglibProxy.factorial(num);
+  }
+
+}
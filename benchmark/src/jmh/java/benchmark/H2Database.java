@@ -0,0 +1,42 @@
+package benchmark;
+
+import org.apache.tomcat.jdbc.pool.DataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+// PostgreSQL 호환 모드로 띄운 인메모리 H2 (chapter08의 MEMBER 테이블과 같은 구조)
+// 네트워크 왕복 없이 JDBC/트랜잭션/커넥션 풀 경로의 비용만 측정하기 위해 사용
+public class H2Database {
+
+  private H2Database() {
+  }
+
+  public static DataSource create(final String name) {
+    DataSource ds = new DataSource();
+    ds.setDriverClassName("org.h2.Driver");
+    ds.setUrl("jdbc:h2:mem:" + name + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+    ds.setUsername("sa");
+    ds.setPassword("");
+    ds.setInitialSize(2);
+    ds.setMaxActive(10);
+    ds.setJdbcInterceptors("StatementCache(prepared=true,callable=false,max=50)");
+
+    JdbcTemplate jdbcTemplate = new JdbcTemplate(ds);
+    jdbcTemplate.execute("drop table if exists member");
+    jdbcTemplate.execute("create table member ("
+        + "id serial primary key, "
+        + "email varchar(255) unique, "
+        + "password varchar(100), "
+        + "name varchar(100), "
+        + "regdate timestamp)");
+    return ds;
+  }
+
+  public static void insertMembers(final DataSource ds, final int count) {
+    JdbcTemplate jdbcTemplate = new JdbcTemplate(ds);
+    // DATABASE_TO_LOWER에서도 system_range의 컬럼 이름은 대문자 X이므로 따옴표로 지정
+    jdbcTemplate.update("insert into member (email, password, name, regdate) "
+        + "select 'member' || \"X\" || '@test.com', '1234', 'name' || \"X\", now() "
+        + "from system_range(0, ?)", count - 1);
+  }
+
+}
@@ -0,0 +1,118 @@
+package benchmark;
+
+import org.apache.tomcat.jdbc.pool.DataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 같은 연산을 chapter03의 인메모리 MemberDao와 chapter08의 JDBC MemberDao(H2)로 각각 실행
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class MemberDaoBenchmark {
+
+  private static final int MEMBERS = 10_000;
+
+  private static final AtomicLong seq = new AtomicLong();
+
+  @State(Scope.Benchmark)
+  public static class InMemory {
+
+    private chapter03.spring.MemberDao memberDao;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+      memberDao = new chapter03.spring.MemberDao();
+      LocalDateTime now = LocalDateTime.now();
+      for (int i = 0; i < MEMBERS; i++) {
+        memberDao.insert(new chapter03.spring.Member(email(i), "1234", "name" + i, now));
+      }
+    }
+
+  }
+
+  @State(Scope.Benchmark)
+  public static class Jdbc {
+
+    private DataSource dataSource;
+    private spring.MemberDao memberDao;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+      dataSource = H2Database.create("daoBenchmark");
+      H2Database.insertMembers(dataSource, MEMBERS);
+      memberDao = new spring.MemberDao(dataSource);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+      memberDao.close();
+      dataSource.close();
+    }
+
+  }
+
+  @Benchmark
+  public chapter03.spring.Member inMemorySelectByEmail(final InMemory state) {
+    return state.memberDao.selectByEmail(randomEmail());
+  }
+
+  @Benchmark
+  public spring.Member jdbcSelectByEmail(final Jdbc state) {
+    return state.memberDao.selectByEmail(randomEmail());
+  }
+
+  @Benchmark
+  public chapter03.spring.Member inMemoryInsert(final InMemory state) {
+    chapter03.spring.Member member =
+        new chapter03.spring.Member(newEmail(), "1234", "name", LocalDateTime.now());
+    state.memberDao.insert(member);
+    return member;
+  }
+
+  @Benchmark
+  public spring.Member jdbcInsert(final Jdbc state) {
+    spring.Member member = new spring.Member(newEmail(), "1234", "name", LocalDateTime.now());
+    state.memberDao.insert(member);
+    return member;
+  }
+
+  @Benchmark
+  public void inMemoryUpdate(final InMemory state) {
+    state.memberDao.update(new chapter03.spring.Member(randomEmail(), "5678", "name", LocalDateTime.now()));
+  }
+
+  @Benchmark
+  public void jdbcUpdate(final Jdbc state) {
+    state.memberDao.update(new spring.Member(randomEmail(), "5678", "name", LocalDateTime.now()));
+  }
+
+  private static String randomEmail() {
+    return email(ThreadLocalRandom.current().nextInt(MEMBERS));
+  }
+
+  private static String newEmail() {
+    return "new" + seq.incrementAndGet() + "@test.com";
+  }
+
+  static String email(final int i) {
+    return "member" + i + "@test.com";
+  }
+
+}
@@ -0,0 +1,94 @@
+package benchmark;
+
+import mapper.MemberRowMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import spring.Member;
+
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetMetaDataImpl;
+import javax.sql.rowset.RowSetProvider;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// 행 하나를 Member로 바꾸는 비용 비교 (DB 왕복을 빼기 위해 메모리에 채운 CachedRowSet 사용)
+// mapRowByName: 매 호출마다 새 MemberRowMapper를 만들고 행마다 컬럼 이름으로 조회 (변경 전 방식)
+// listExtractor: 공유 인스턴스가 ResultSet마다 컬럼 위치를 한 번만 찾고 인덱스로 조회
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class MemberRowMapperBenchmark {
+
+  private static final int ROWS = 1000;
+
+  @Param({"5", "20"})
+  private int columnCount;
+
+  private CachedRowSet rs;
+
+  // MEMBER 테이블의 다섯 컬럼 뒤에 사용하지 않는 컬럼을 붙여서 이름 조회 비용이 컬럼 수에 따라 어떻게 변하는지 확인
+  @Setup(Level.Trial)
+  public void setUp() throws SQLException {
+    RowSetMetaDataImpl metaData = new RowSetMetaDataImpl();
+    metaData.setColumnCount(columnCount);
+    String[] names = {"ID", "EMAIL", "PASSWORD", "NAME", "REGDATE"};
+    int[] types = {Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.TIMESTAMP};
+    for (int i = 1; i <= columnCount; i++) {
+      metaData.setColumnName(i, i <= names.length ? names[i - 1] : "EXTRA" + i);
+      metaData.setColumnType(i, i <= types.length ? types[i - 1] : Types.VARCHAR);
+    }
+
+    rs = RowSetProvider.newFactory().createCachedRowSet();
+    rs.setMetaData(metaData);
+    Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+    for (int row = 0; row < ROWS; row++) {
+      rs.moveToInsertRow();
+      rs.updateLong(1, row + 1);
+      rs.updateString(2, "member" + row + "@test.com");
+      rs.updateString(3, "password" + row);
+      rs.updateString(4, "name" + row);
+      rs.updateTimestamp(5, now);
+      for (int i = names.length + 1; i <= columnCount; i++) rs.updateString(i, "extra");
+      rs.insertRow();
+    }
+    rs.moveToCurrentRow();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ROWS)
+  public List<Member> mapRowByName() throws SQLException {
+    rs.beforeFirst();
+    MemberRowMapper rowMapper = new MemberRowMapper();
+    List<Member> members = new ArrayList<>();
+    int rowNum = 0;
+    while (rs.next()) members.add(rowMapper.mapRow(rs, rowNum++));
+    return members;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ROWS)
+  public List<Member> listExtractor() throws SQLException {
+    rs.beforeFirst();
+    return MemberRowMapper.LIST_EXTRACTOR.extractData(rs);
+  }
+
+}
@@ -0,0 +1,94 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import spring.ChangePasswordService;
+import spring.MemberDao;
+import spring.MemberRegisterService;
+import spring.RegisterRequest;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// chapter08 서비스를 스프링 컨텍스트(트랜잭션 프록시 포함)를 통해 호출하는 비용
+// registAllDirect는 같은 서비스를 프록시 없이 직접 만들어 호출해서 @Transactional 프록시 비용을 비교
+// (regist와 changePassword는 한 문장으로 처리하므로 트랜잭션 없이 실행)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class MemberServiceBenchmark {
+
+  static final int MEMBERS = 10_000;
+
+  private final AtomicLong seq = new AtomicLong();
+
+  private AnnotationConfigApplicationContext ctx;
+  private MemberRegisterService regSvc;
+  private MemberRegisterService directRegSvc;
+  private ChangePasswordService pwdSvc;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    ctx = new AnnotationConfigApplicationContext(BenchmarkAppCtx.class);
+    regSvc = ctx.getBean(MemberRegisterService.class);
+    directRegSvc = new MemberRegisterService(ctx.getBean(MemberDao.class));
+    pwdSvc = ctx.getBean(ChangePasswordService.class);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    ctx.close();
+  }
+
+  @Benchmark
+  public Long regist() {
+    return regSvc.regist(newRequest());
+  }
+
+  @Benchmark
+  public List<Long> registAllProxied() {
+    return regSvc.registAll(Collections.singletonList(newRequest()));
+  }
+
+  @Benchmark
+  public List<Long> registAllDirect() {
+    return directRegSvc.registAll(Collections.singletonList(newRequest()));
+  }
+
+  // 암호를 같은 값으로 바꿔서 반복 실행해도 항상 성공하도록 함
+  @Benchmark
+  public void changePassword() {
+    pwdSvc.changePassword(randomEmail(), "1234", "1234");
+  }
+
+  private RegisterRequest newRequest() {
+    RegisterRequest req = new RegisterRequest();
+    req.setEmail("new" + seq.incrementAndGet() + "@test.com");
+    req.setName("name");
+    req.setPassword("1234");
+    req.setConfirmPassword("1234");
+    return req;
+  }
+
+  private static String randomEmail() {
+    return MemberDaoBenchmark.email(ThreadLocalRandom.current().nextInt(MEMBERS));
+  }
+
+}
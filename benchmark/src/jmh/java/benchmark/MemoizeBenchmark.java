@@ -0,0 +1,77 @@
+package benchmark;
+
+import io.wisoft.daewon.aspect.CacheAspect;
+import io.wisoft.daewon.calculator.Calculator;
+import io.wisoft.daewon.calculator.ImpeCalculator;
+import io.wisoft.daewon.calculator.MemoCalculator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.concurrent.TimeUnit;
+
+// 캐시에 있는 factorial을 다시 조회하는 비용과 할당량 비교 (-prof gc로 실행해서 gc.alloc.rate.norm 확인)
+// - memoCalculator: LongMemoTable을 직접 사용하는 데코레이터 (0 B/op 기대)
+// - aspectSpecialized: CacheAspect + LongMemoTable. 캐시 조회는 할당하지 않지만
+//   프록시가 인자 배열, 조인포인트, 결과 Long(-128~127 범위 밖)을 만드는 비용은 남음
+// - aspectGeneric: CacheAspect + MemoCache (CacheKey, 인자 배열 복사, Long 박싱 포함)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class MemoizeBenchmark {
+
+  @Param({"5", "20"})
+  private long num;
+
+  private Calculator raw;
+  private Calculator memoCalculator;
+  private Calculator aspectSpecialized;
+  private Calculator aspectGeneric;
+
+  @Setup
+  public void setUp() {
+    raw = new ImpeCalculator();
+    memoCalculator = new MemoCalculator(new ImpeCalculator());
+    aspectSpecialized = proxy(new CacheAspect(true));
+    aspectGeneric = proxy(new CacheAspect(false));
+  }
+
+  private static Calculator proxy(final CacheAspect aspect) {
+    AspectJProxyFactory factory = new AspectJProxyFactory(new ImpeCalculator());
+    factory.addAspect(aspect);
+    return factory.getProxy();
+  }
+
+  @Benchmark
+  public long raw() {
+    return raw.factorial(num);
+  }
+
+  @Benchmark
+  public long memoCalculator() {
+    return memoCalculator.factorial(num);
+  }
+
+  @Benchmark
+  public long aspectSpecialized() {
+    return aspectSpecialized.factorial(num);
+  }
+
+  @Benchmark
+  public long aspectGeneric() {
+    return aspectGeneric.factorial(num);
+  }
+
+}
@@ -0,0 +1,64 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import password.PasswordHasher;
+
+import java.util.concurrent.TimeUnit;
+
+// PBKDF2 반복 횟수별 PasswordHasher 처리량 (초당 해시/비교 횟수)
+// 동시에 실행하는 해시 수를 코어 수로 제한하므로 -t 옵션으로 요청 스레드를 늘려도 처리량은 코어 수에서 멈추고 대기 시간만 늘어남
+// plainMatches는 이전에 평문으로 저장한 비밀번호 비교 (기준값)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PasswordHasherBenchmark {
+
+  @Param({"10000", "50000", "100000", "310000"})
+  private int iterations;
+
+  private PasswordHasher hasher;
+  private String encoded;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    int threads = Runtime.getRuntime().availableProcessors();
+    hasher = new PasswordHasher(iterations, threads, threads * 64);
+    encoded = hasher.hash("1234");
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    hasher.close();
+  }
+
+  @Benchmark
+  public String hash() {
+    return hasher.hash("1234");
+  }
+
+  @Benchmark
+  public boolean matches() {
+    return hasher.matches("1234", encoded);
+  }
+
+  @Benchmark
+  public boolean plainMatches() {
+    return hasher.matches("1234", "1234");
+  }
+
+}
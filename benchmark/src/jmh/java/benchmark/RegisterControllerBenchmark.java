@@ -0,0 +1,68 @@
+package benchmark;
+
+import io.wisoft.pdw.controller.RegisterController;
+import io.wisoft.pdw.spring.MemberDao;
+import io.wisoft.pdw.spring.MemberRegisterService;
+import org.apache.tomcat.jdbc.pool.DataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+// chapter11 RegisterController.handleStep3를 MockMvc로 호출 (요청 파라미터 바인딩 + 회원 등록 + 뷰 이름 결정)
+// JSP는 렌더링하지 않으므로 서블릿 컨테이너와 뷰 비용은 포함되지 않음
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class RegisterControllerBenchmark {
+
+  private final AtomicLong seq = new AtomicLong();
+
+  private DataSource dataSource;
+  private MockMvc mockMvc;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    dataSource = H2Database.create("controllerBenchmark");
+    RegisterController controller = new RegisterController();
+    MemberDao memberDao = new MemberDao(dataSource);
+    memberDao.setUpsertSupported(false);
+    controller.setMemberRegisterService(new MemberRegisterService(memberDao));
+    mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    dataSource.close();
+  }
+
+  @Benchmark
+  public MvcResult handleStep3() throws Exception {
+    return mockMvc.perform(post("/register/step3")
+        .param("email", "web" + seq.incrementAndGet() + "@test.com")
+        .param("name", "name")
+        .param("password", "1234")
+        .param("confirmPassword", "1234"))
+        .andReturn();
+  }
+
+}
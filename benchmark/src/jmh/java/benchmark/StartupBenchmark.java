@@ -0,0 +1,58 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+// 새 JVM에서 컨텍스트를 처음 만드는 비용 (포크마다 한 번만 측정)
+// annotation: AnnotationConfigApplicationContext로 설정 클래스를 분석하고 CGLIB으로 확장
+// aot: AotGenerator로 생성한 코드로 빈만 등록 (설정 클래스 분석, CGLIB 확장, @Autowired 리플렉션 없음)
+// 메모리는 -prof gc(gc.alloc.rate.norm: 시작할 때 할당한 바이트), 로드한 클래스 수는 -prof cl로 확인
+// chapter08은 DataSource를 H2로 바꾼 BenchmarkAppCtx를 사용하므로 H2 생성과 회원 입력 시간이 함께 측정됨
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+@State(Scope.Benchmark)
+public class StartupBenchmark {
+
+  @Param({"chapter03", "chapter08"})
+  private String config;
+
+  @Param({"annotation", "aot"})
+  private String mode;
+
+  private GenericApplicationContext ctx;
+
+  @Benchmark
+  public GenericApplicationContext refresh() {
+    boolean aot = mode.equals("aot");
+    if (config.equals("chapter03")) {
+      ctx = aot ? chapter03.config.AppCtxAot.create()
+          : new AnnotationConfigApplicationContext(chapter03.config.AppCtx.class);
+    } else {
+      ctx = aot ? BenchmarkAppCtxAot.create() : new AnnotationConfigApplicationContext(BenchmarkAppCtx.class);
+    }
+    return ctx;
+  }
+
+  @TearDown(Level.Iteration)
+  public void tearDown() {
+    ctx.close();
+  }
+
+}
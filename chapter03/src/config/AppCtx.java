@@ -1,12 +1,26 @@
 package chapter03.config;
 
 import chapter03.spring.*;
+import chapter03.startup.LazyInitPostProcessor;
+import chapter03.startup.StartupProfiler;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
 public class AppCtx {
 
+  // -Dstartup.profile=true: 빈별 생성 시간을 출력
+  @Bean
+  public static StartupProfiler startupProfiler() {
+    return new StartupProfiler(Boolean.getBoolean("startup.profile"));
+  }
+
+  // -Dstartup.lazy=true: 모든 빈을 처음 사용할 때 생성
+  @Bean
+  public static LazyInitPostProcessor lazyInitPostProcessor() {
+    return new LazyInitPostProcessor(Boolean.getBoolean("startup.lazy"));
+  }
+
   @Bean
   public MemberDao memberDao() {
     return new MemberDao();
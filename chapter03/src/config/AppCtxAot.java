@@ -0,0 +1,136 @@
+package chapter03.config;
+
+import chapter03.spring.ChangePasswordService;
+import chapter03.spring.MemberDao;
+import chapter03.spring.MemberInfoPrinter;
+import chapter03.spring.MemberListPrinter;
+import chapter03.spring.MemberPrinter;
+import chapter03.spring.MemberRegisterService;
+import chapter03.spring.VersionPrinter;
+import chapter03.startup.LazyInitPostProcessor;
+import chapter03.startup.StartupProfiler;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.context.support.GenericApplicationContext;
+
+// AotGenerator가 chapter03.config.AppCtx로부터 생성한 코드
+// 직접 고치지 말고 설정 클래스를 바꾼 뒤 다시 생성: java aot.AotGenerator chapter03.config.AppCtx <소스 루트 디렉터리>
+public final class AppCtxAot {
+
+  private AppCtxAot() {
+  }
+
+  public static GenericApplicationContext create() {
+    GenericApplicationContext ctx = new GenericApplicationContext();
+    registerBeans(ctx);
+    ctx.refresh();
+    return ctx;
+  }
+
+  public static void registerBeans(final GenericApplicationContext ctx) {
+    Beans beans = new Beans(ctx);
+    ctx.registerBean("changePwdSvc", ChangePasswordService.class, beans::newChangePwdSvc,
+        bd -> bd.setDestroyMethodName(AbstractBeanDefinition.INFER_METHOD));
+    ctx.registerBean("infoPrinter", MemberInfoPrinter.class, beans::newInfoPrinter,
+        bd -> bd.setDestroyMethodName(AbstractBeanDefinition.INFER_METHOD));
+    ctx.registerBean("lazyInitPostProcessor", LazyInitPostProcessor.class, beans::newLazyInitPostProcessor,
+        bd -> bd.setDestroyMethodName(AbstractBeanDefinition.INFER_METHOD));
+    ctx.registerBean("listPrinter", MemberListPrinter.class, beans::newListPrinter,
+        bd -> bd.setDestroyMethodName(AbstractBeanDefinition.INFER_METHOD));
+    ctx.registerBean("memberDao", MemberDao.class, beans::newMemberDao,
+        bd -> bd.setDestroyMethodName(AbstractBeanDefinition.INFER_METHOD));
+    ctx.registerBean("memberPrinter", MemberPrinter.class, beans::newMemberPrinter,
+        bd -> bd.setDestroyMethodName(AbstractBeanDefinition.INFER_METHOD));
+    ctx.registerBean("memberRegSvc", MemberRegisterService.class, beans::newMemberRegSvc,
+        bd -> bd.setDestroyMethodName(AbstractBeanDefinition.INFER_METHOD));
+    ctx.registerBean("startupProfiler", StartupProfiler.class, beans::newStartupProfiler,
+        bd -> bd.setDestroyMethodName(AbstractBeanDefinition.INFER_METHOD));
+    ctx.registerBean("versionPrinter", VersionPrinter.class, beans::newVersionPrinter,
+        bd -> bd.setDestroyMethodName(AbstractBeanDefinition.INFER_METHOD));
+  }
+
+  // @Bean 메서드 사이의 호출을 컨테이너의 싱글톤으로 연결 (CGLIB으로 확장한 설정 클래스가 하던 일)
+  private static class Beans extends AppCtx {
+
+    private final GenericApplicationContext ctx;
+
+    private Beans(final GenericApplicationContext ctx) {
+      this.ctx = ctx;
+    }
+
+    @Override
+    ChangePasswordService changePwdSvc() {
+      return ctx.getBean("changePwdSvc", ChangePasswordService.class);
+    }
+
+    @Override
+    public MemberInfoPrinter infoPrinter() {
+      return ctx.getBean("infoPrinter", MemberInfoPrinter.class);
+    }
+
+    @Override
+    public MemberListPrinter listPrinter() {
+      return ctx.getBean("listPrinter", MemberListPrinter.class);
+    }
+
+    @Override
+    public MemberDao memberDao() {
+      return ctx.getBean("memberDao", MemberDao.class);
+    }
+
+    @Override
+    public MemberPrinter memberPrinter() {
+      return ctx.getBean("memberPrinter", MemberPrinter.class);
+    }
+
+    @Override
+    public MemberRegisterService memberRegSvc() {
+      return ctx.getBean("memberRegSvc", MemberRegisterService.class);
+    }
+
+    @Override
+    public VersionPrinter versionPrinter() {
+      return ctx.getBean("versionPrinter", VersionPrinter.class);
+    }
+
+    private ChangePasswordService newChangePwdSvc() {
+      return super.changePwdSvc();
+    }
+
+    private MemberInfoPrinter newInfoPrinter() {
+      MemberInfoPrinter bean = super.infoPrinter();
+      bean.setMemberDao(ctx.getBean("memberDao", MemberDao.class));
+      bean.setPrinter(ctx.getBean("memberPrinter", MemberPrinter.class));
+      return bean;
+    }
+
+    private LazyInitPostProcessor newLazyInitPostProcessor() {
+      return AppCtx.lazyInitPostProcessor();
+    }
+
+    private MemberListPrinter newListPrinter() {
+      return super.listPrinter();
+    }
+
+    private MemberDao newMemberDao() {
+      return super.memberDao();
+    }
+
+    private MemberPrinter newMemberPrinter() {
+      return super.memberPrinter();
+    }
+
+    private MemberRegisterService newMemberRegSvc() {
+      return super.memberRegSvc();
+    }
+
+    private StartupProfiler newStartupProfiler() {
+      return AppCtx.startupProfiler();
+    }
+
+    private VersionPrinter newVersionPrinter() {
+      return super.versionPrinter();
+    }
+
+  }
+
+}
@@ -0,0 +1,51 @@
+package chapter03.main;
+
+import chapter03.spring.DurableMemberDao;
+import chapter03.spring.Member;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class MainForDurable {
+
+  public static void main(String... args) throws IOException, InterruptedException {
+    Path directory = Paths.get(args.length > 0 ? args[0] : "member-data");
+    int count = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+    int threads = Runtime.getRuntime().availableProcessors() * 4;
+
+    long start = System.nanoTime();
+    DurableMemberDao memberDao = new DurableMemberDao(directory);
+    System.out.printf("복구: 회원 %,d명, %,d ms\n",
+        memberDao.selectAll().size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+    // 여러 스레드가 동시에 쓰면 fsync 한 번에 여러 쓰기가 묶여서 기록됨
+    String prefix = Long.toString(System.currentTimeMillis(), 36);
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    start = System.nanoTime();
+    for (int t = 0; t < threads; t++) {
+      final int threadNo = t;
+      executor.execute(() -> {
+        for (int i = threadNo; i < count; i += threads) {
+          memberDao.insert(new Member(
+              prefix + "-" + i + "@test.com", "pw" + i, "name" + i, LocalDateTime.now()));
+        }
+      });
+    }
+    executor.shutdown();
+    executor.awaitTermination(1, TimeUnit.HOURS);
+    long elapsed = System.nanoTime() - start;
+    System.out.printf("쓰기: %,d건, %,d ms, %,d ops/s\n",
+        count, TimeUnit.NANOSECONDS.toMillis(elapsed), count * TimeUnit.SECONDS.toNanos(1) / elapsed);
+
+    start = System.nanoTime();
+    memberDao.snapshot();
+    System.out.printf("스냅샷: %,d ms\n", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    memberDao.close();
+  }
+
+}
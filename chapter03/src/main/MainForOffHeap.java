@@ -0,0 +1,98 @@
+package chapter03.main;
+
+import chapter03.spring.Member;
+import chapter03.spring.MemberDao;
+import chapter03.spring.OffHeapMemberDao;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+public class MainForOffHeap {
+
+  public static void main(String... args) {
+    int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+    int lookups = count * 2;
+
+    System.out.printf("회원 수=%,d, 조회 수=%,d\n", count, lookups);
+    // 먼저 실행된 쪽의 JIT/힙 확장 효과를 줄이기 위해 한 번씩 워밍업
+    measure("warm-up", MemberDao::new, count / 10, lookups / 10);
+    measure("HashMap", MemberDao::new, count, lookups);
+    measure("OffHeap", () -> new OffHeapMemberDao(count), count, lookups);
+  }
+
+  private static void measure(final String label, final Supplier<MemberDao> factory,
+                              final int count, final int lookups) {
+    long heapBefore = usedHeapAfterGc();
+    long directBefore = directMemory();
+    GcSnapshot gcBefore = GcSnapshot.now();
+
+    MemberDao memberDao = factory.get();
+    LocalDateTime now = LocalDateTime.now();
+    long start = System.nanoTime();
+    for (int i = 0; i < count; i++) {
+      memberDao.insert(new Member(email(i), "password" + i, "name" + i, now.minusSeconds(i)));
+    }
+    long insertNanos = System.nanoTime() - start;
+
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    long found = 0;
+    start = System.nanoTime();
+    for (int i = 0; i < lookups; i++) {
+      if (memberDao.selectByEmail(email(random.nextInt(count))) != null) found++;
+    }
+    long selectNanos = System.nanoTime() - start;
+
+    GcSnapshot gcAfter = GcSnapshot.now();
+    long heapAfter = usedHeapAfterGc();
+    long directAfter = directMemory();
+
+    System.out.printf("[%s] insert=%,d ms, select=%,d ms (found %,d), "
+            + "heap=%,d KB, direct=%,d KB, gc=%d회 %,d ms\n",
+        label, insertNanos / 1_000_000, selectNanos / 1_000_000, found,
+        (heapAfter - heapBefore) / 1024, (directAfter - directBefore) / 1024,
+        gcAfter.count - gcBefore.count, gcAfter.millis - gcBefore.millis);
+
+    // 측정이 끝날 때까지 DAO가 수거되지 않도록 유지
+    if (memberDao.selectByEmail(email(0)) == null) throw new IllegalStateException();
+  }
+
+  private static String email(final int i) {
+    return "member" + i + "@test.com";
+  }
+
+  private static long usedHeapAfterGc() {
+    for (int i = 0; i < 3; i++) System.gc();
+    Runtime rt = Runtime.getRuntime();
+    return rt.totalMemory() - rt.freeMemory();
+  }
+
+  private static long directMemory() {
+    List<BufferPoolMXBean> pools = ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class);
+    return pools.stream()
+        .filter(p -> p.getName().equals("direct"))
+        .mapToLong(BufferPoolMXBean::getMemoryUsed)
+        .sum();
+  }
+
+  private static class GcSnapshot {
+
+    private long count;
+    private long millis;
+
+    private static GcSnapshot now() {
+      GcSnapshot snapshot = new GcSnapshot();
+      for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+        snapshot.count += Math.max(0, gc.getCollectionCount());
+        snapshot.millis += Math.max(0, gc.getCollectionTime());
+      }
+      return snapshot;
+    }
+
+  }
+
+}
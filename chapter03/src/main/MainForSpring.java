@@ -4,6 +4,7 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 
 import chapter03.config.AppCtx;
+import chapter03.config.AppCtxAot;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 
@@ -14,7 +15,9 @@ public class MainForSpring {
   private static ApplicationContext ctx = null;
 
   public static void main(String... args) throws IOException {
-    ctx = new AnnotationConfigApplicationContext(AppCtx.class);
+    // -Dcontext.aot=true: AotGenerator로 생성한 AppCtxAot로 컨텍스트 생성
+    ctx = Boolean.getBoolean("context.aot")
+        ? AppCtxAot.create() : new AnnotationConfigApplicationContext(AppCtx.class);
 
     BufferedReader reader = new BufferedReader(new InputStreamReader(System.in));
     while (true) {
@@ -0,0 +1,117 @@
+package chapter03.main;
+
+import chapter03.spring.DuplicateMemberException;
+import chapter03.spring.Member;
+import chapter03.spring.MemberDao;
+import chapter03.spring.MemberRegisterService;
+import chapter03.spring.RegisterRequest;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class MainForStress {
+
+  private static final int REGISTS_PER_THREAD = 200_000;
+  private static final int SHARED_EMAILS = 10_000;
+
+  public static void main(String... args) throws InterruptedException {
+    int cores = Runtime.getRuntime().availableProcessors();
+
+    System.out.println("----- 스레드 수별 처리량 (서로 다른 이메일)");
+    for (int threads = 1; threads <= cores; threads *= 2) {
+      runDistinct(threads);
+    }
+    if (Integer.bitCount(cores) != 1) runDistinct(cores);
+
+    System.out.println("----- 같은 이메일 동시 등록");
+    runShared(cores);
+  }
+
+  // 스레드마다 서로 다른 이메일을 등록해서 처리량과 아이디 중복 여부를 확인
+  private static void runDistinct(final int threads) throws InterruptedException {
+    MemberDao memberDao = new MemberDao();
+    MemberRegisterService regSvc = new MemberRegisterService(memberDao);
+
+    long elapsed = run(threads, t -> {
+      for (int i = 0; i < REGISTS_PER_THREAD; i++) {
+        regSvc.regist(request("t" + t + "-" + i + "@test.com"));
+      }
+    });
+
+    int total = threads * REGISTS_PER_THREAD;
+    Set<Long> ids = new HashSet<>();
+    for (Member m : memberDao.selectAll()) ids.add(m.getId());
+    System.out.printf("threads=%2d, 등록=%d, 회원 수=%d, 고유 아이디=%d, 처리량=%,d ops/s\n",
+        threads, total, memberDao.selectAll().size(), ids.size(),
+        total * TimeUnit.SECONDS.toNanos(1) / elapsed);
+  }
+
+  // 모든 스레드가 같은 이메일 집합을 등록해서 이메일마다 한 번만 성공하는지 확인
+  private static void runShared(final int threads) throws InterruptedException {
+    MemberDao memberDao = new MemberDao();
+    MemberRegisterService regSvc = new MemberRegisterService(memberDao);
+    AtomicInteger succeeded = new AtomicInteger();
+    AtomicInteger duplicated = new AtomicInteger();
+
+    run(threads, t -> {
+      for (int i = 0; i < SHARED_EMAILS; i++) {
+        try {
+          regSvc.regist(request("shared-" + i + "@test.com"));
+          succeeded.incrementAndGet();
+        } catch (DuplicateMemberException e) {
+          duplicated.incrementAndGet();
+        }
+      }
+    });
+
+    System.out.printf("threads=%2d, 성공=%d (기대값 %d), 중복=%d, 회원 수=%d\n",
+        threads, succeeded.get(), SHARED_EMAILS, duplicated.get(), memberDao.selectAll().size());
+  }
+
+  private static long run(final int threads, final Worker worker) throws InterruptedException {
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    CountDownLatch ready = new CountDownLatch(threads);
+    CountDownLatch start = new CountDownLatch(1);
+    CountDownLatch done = new CountDownLatch(threads);
+    for (int t = 0; t < threads; t++) {
+      final int threadNo = t;
+      executor.execute(() -> {
+        ready.countDown();
+        try {
+          start.await();
+          worker.work(threadNo);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        } finally {
+          done.countDown();
+        }
+      });
+    }
+    ready.await();
+    long begin = System.nanoTime();
+    start.countDown();
+    done.await();
+    long elapsed = System.nanoTime() - begin;
+    executor.shutdown();
+    return elapsed;
+  }
+
+  private static RegisterRequest request(final String email) {
+    RegisterRequest req = new RegisterRequest();
+    req.setEmail(email);
+    req.setName("name");
+    req.setPassword("1234");
+    req.setConfirmPassword("1234");
+    return req;
+  }
+
+  private interface Worker {
+    void work(int threadNo);
+  }
+
+}
@@ -0,0 +1,427 @@
+package chapter03.spring;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class DurableMemberDao extends MemberDao implements Closeable {
+
+  private static final String SNAPSHOT = "members.snapshot";
+  private static final String WAL_PREFIX = "members-";
+  private static final String WAL_SUFFIX = ".wal";
+  private static final int SNAPSHOT_MAGIC = 0x4D454D31;
+  private static final int SNAPSHOT_HEADER_SIZE = 4 + 8 + 8;
+
+  private final Path directory;
+  private final long commitIntervalMillis;
+
+  // 쓰기 순서를 정하는 잠금. 맵 반영과 WAL 버퍼 추가를 함께 묶음 (fsync는 밖에서 수행)
+  private final Object walLock = new Object();
+  private List<ByteBuffer> pending = new ArrayList<>();
+  private long appendedSeq;
+  // 아직 fsync되지 않은 쓰기의 이전 값. WAL 기록에 실패하면 역순으로 되돌려서 맵에 남지 않도록 함
+  private final ArrayDeque<Undo> undo = new ArrayDeque<>();
+  // 스냅샷을 쓰는 동안만 사용. WAL을 교체한 뒤 처음 바뀐 회원의 교체 시점 값 (없던 회원이면 empty)
+  private volatile Map<String, Optional<Member>> snapshotPreImages;
+
+  // 커밋 스레드의 write + fsync 와 WAL 교체(스냅샷)가 겹치지 않도록 하는 잠금
+  private final ReentrantLock commitLock = new ReentrantLock();
+  private FileChannel wal;
+  private long generation;
+
+  private final Object durableLock = new Object();
+  private long durableSeq;
+  private volatile IOException failure;
+  private volatile boolean closed;
+
+  private final Thread committer;
+  private final ScheduledExecutorService snapshotScheduler;
+
+  public DurableMemberDao(final Path directory) throws IOException {
+    this(directory, 5, TimeUnit.MINUTES.toMillis(10));
+  }
+
+  public DurableMemberDao(final Path directory, final long commitIntervalMillis,
+                          final long snapshotIntervalMillis) throws IOException {
+    this.directory = Files.createDirectories(directory);
+    this.commitIntervalMillis = commitIntervalMillis;
+    recover();
+
+    committer = new Thread(this::commitLoop, "member-wal-committer");
+    committer.setDaemon(true);
+    committer.start();
+
+    snapshotScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+      Thread t = new Thread(r, "member-snapshot");
+      t.setDaemon(true);
+      return t;
+    });
+    if (snapshotIntervalMillis > 0) {
+      snapshotScheduler.scheduleWithFixedDelay(() -> {
+        try {
+          snapshot();
+        } catch (IOException e) {
+          e.printStackTrace();
+        }
+      }, snapshotIntervalMillis, snapshotIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  // 맵에는 복사본을 저장하고 조회할 때도 복사본을 줌
+  // (호출한 쪽이 changePassword()로 바꿔도 저장된 값과 되돌릴 이전 값이 바뀌지 않도록)
+  @Override
+  public Member selectByEmail(final String email) {
+    return copy(super.selectByEmail(email));
+  }
+
+  @Override
+  public Collection<Member> selectAll() {
+    List<Member> members = new ArrayList<>();
+    for (Member member : super.selectAll()) members.add(copy(member));
+    return members;
+  }
+
+  // WAL 레코드를 먼저 만들어서(아이디 등 검사) 실패하면 맵을 바꾸지 않음
+  // 쓰기는 모두 walLock 안에서 하므로 확인 후 삽입해도 다른 쓰기가 끼어들지 않음
+  @Override
+  public void insert(final Member member) {
+    long seq;
+    synchronized (walLock) {
+      checkOpen();
+      if (super.selectByEmail(member.getEmail()) != null) {
+        throw new DuplicateMemberException("dup email " + member.getEmail());
+      }
+      member.setId(nextId());
+      seq = apply(MemberLogFile.encode(MemberLogFile.INSERT, member), member);
+    }
+    awaitDurable(seq);
+  }
+
+  @Override
+  public void update(final Member member) {
+    long seq;
+    synchronized (walLock) {
+      checkOpen();
+      seq = apply(MemberLogFile.encode(MemberLogFile.UPDATE, member), member);
+    }
+    awaitDurable(seq);
+  }
+
+  // walLock 안에서 호출
+  private long apply(final ByteBuffer record, final Member member) {
+    Member previous = super.selectByEmail(member.getEmail());
+    // 맵을 바꾸기 전에 기록해야 스냅샷이 바뀐 값을 읽었을 때 항상 이전 값을 찾을 수 있음
+    Map<String, Optional<Member>> preImages = snapshotPreImages;
+    if (preImages != null) preImages.putIfAbsent(member.getEmail(), Optional.ofNullable(previous));
+    super.update(copy(member));
+    pending.add(record);
+    walLock.notify();
+    undo.addLast(new Undo(++appendedSeq, member.getEmail(), previous));
+    return appendedSeq;
+  }
+
+  // 호출한 쓰기가 포함된 묶음이 fsync될 때까지 대기 (여러 쓰기가 fsync 한 번을 공유)
+  private void awaitDurable(final long seq) {
+    synchronized (durableLock) {
+      while (durableSeq < seq) {
+        if (failure != null) throw new UncheckedIOException("WAL write failed", failure);
+        try {
+          durableLock.wait();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new IllegalStateException("interrupted while waiting for WAL commit", e);
+        }
+      }
+    }
+  }
+
+  // 대기 중인 쓰기가 있으면 바로 묶어서 기록. fsync 하는 동안 쌓인 쓰기는 다음 묶음이 됨
+  private void commitLoop() {
+    while (true) {
+      try {
+        synchronized (walLock) {
+          while (pending.isEmpty() && !closed) walLock.wait(commitIntervalMillis);
+          if (closed) return;
+        }
+        commit();
+      } catch (InterruptedException e) {
+        return;
+      } catch (IOException e) {
+        fail(e);
+        return;
+      }
+    }
+  }
+
+  private void commit() throws IOException {
+    commitLock.lock();
+    try {
+      List<ByteBuffer> batch;
+      long batchSeq;
+      synchronized (walLock) {
+        if (pending.isEmpty()) return;
+        batch = pending;
+        batchSeq = appendedSeq;
+        pending = new ArrayList<>();
+      }
+      writeAndForce(wal, batch);
+      markDurable(batchSeq);
+    } finally {
+      commitLock.unlock();
+    }
+  }
+
+  private static void writeAndForce(final FileChannel channel, final List<ByteBuffer> batch) throws IOException {
+    ByteBuffer[] buffers = batch.toArray(new ByteBuffer[0]);
+    long remaining = 0;
+    for (ByteBuffer b : buffers) remaining += b.remaining();
+    while (remaining > 0) remaining -= channel.write(buffers);
+    channel.force(false);
+  }
+
+  // 기록하지 못한 쓰기를 최근 것부터 되돌린 뒤 기다리는 쓰기에 실패를 알림. 이후의 쓰기는 모두 거부됨
+  private void fail(final IOException e) {
+    synchronized (walLock) {
+      failure = e;
+      while (!undo.isEmpty()) {
+        Undo last = undo.removeLast();
+        if (last.previous == null) {
+          delete(last.email);
+        } else {
+          super.update(last.previous);
+        }
+      }
+    }
+    synchronized (durableLock) {
+      durableLock.notifyAll();
+    }
+  }
+
+  private void markDurable(final long seq) {
+    synchronized (walLock) {
+      while (!undo.isEmpty() && undo.peekFirst().seq <= seq) undo.removeFirst();
+    }
+    synchronized (durableLock) {
+      durableSeq = Math.max(durableSeq, seq);
+      durableLock.notifyAll();
+    }
+  }
+
+  // 새 WAL 세대로 교체한 뒤 교체 시점의 상태를 스냅샷으로 쓰고, 스냅샷에 포함된 이전 세대 WAL을 삭제
+  // 교체 이후의 쓰기는 아직 fsync되지 않았을 수 있으므로(실패하면 되돌려짐) 스냅샷에는 교체 시점의 값을 씀
+  public synchronized void snapshot() throws IOException {
+    checkOpen();
+    long snapshotGeneration;
+    Map<String, Optional<Member>> preImages = new ConcurrentHashMap<>();
+    commitLock.lock();
+    try {
+      List<ByteBuffer> batch;
+      long batchSeq;
+      FileChannel previous = wal;
+      snapshotGeneration = generation + 1;
+      FileChannel next = openWal(snapshotGeneration);
+      synchronized (walLock) {
+        batch = pending;
+        batchSeq = appendedSeq;
+        pending = new ArrayList<>();
+        wal = next;
+        generation = snapshotGeneration;
+        snapshotPreImages = preImages;
+      }
+      try {
+        writeAndForce(previous, batch);
+      } catch (IOException e) {
+        snapshotPreImages = null;
+        fail(e);
+        throw e;
+      }
+      previous.close();
+      markDurable(batchSeq);
+    } finally {
+      commitLock.unlock();
+    }
+
+    try {
+      writeSnapshot(snapshotGeneration, preImages);
+    } finally {
+      snapshotPreImages = null;
+    }
+    for (Path file : walFiles().headMap(snapshotGeneration).values()) {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  // 맵을 읽은 뒤에 이전 값 기록을 확인하므로, 그 사이에 바뀌었어도 교체 시점의 값을 씀
+  private void writeSnapshot(final long snapshotGeneration, final Map<String, Optional<Member>> preImages)
+      throws IOException {
+    Path tmp = directory.resolve(SNAPSHOT + ".tmp");
+    try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE,
+        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+      ByteBuffer header = ByteBuffer.allocate(SNAPSHOT_HEADER_SIZE);
+      header.putInt(SNAPSHOT_MAGIC).putLong(snapshotGeneration).putLong(0).flip();
+      MemberLogFile.writeFully(out, header);
+
+      List<ByteBuffer> chunk = new ArrayList<>();
+      long maxId = 0;
+      for (Member current : super.selectAll()) {
+        Optional<Member> preImage = preImages.get(current.getEmail());
+        Member member = preImage == null ? current : preImage.orElse(null);
+        if (member == null) continue;
+        chunk.add(MemberLogFile.encode(MemberLogFile.INSERT, member));
+        maxId = Math.max(maxId, member.getId());
+        if (chunk.size() == 1024) {
+          MemberLogFile.writeFully(out, concat(chunk));
+          chunk.clear();
+        }
+      }
+      MemberLogFile.writeFully(out, concat(chunk));
+      ByteBuffer maxIdField = ByteBuffer.allocate(8).putLong(0, maxId);
+      out.write(maxIdField, 12);
+      out.force(true);
+    }
+    Files.move(tmp, directory.resolve(SNAPSHOT),
+        StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  private static ByteBuffer concat(final List<ByteBuffer> buffers) {
+    int size = 0;
+    for (ByteBuffer b : buffers) size += b.remaining();
+    ByteBuffer joined = ByteBuffer.allocate(size);
+    for (ByteBuffer b : buffers) joined.put(b);
+    joined.flip();
+    return joined;
+  }
+
+  // 시작할 때 최신 스냅샷을 읽고, 그 세대 이후의 WAL을 순서대로 재실행
+  private void recover() throws IOException {
+    long snapshotGeneration = 0;
+    Path snapshot = directory.resolve(SNAPSHOT);
+    if (Files.exists(snapshot)) {
+      try (FileChannel in = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+        ByteBuffer header = ByteBuffer.allocate(SNAPSHOT_HEADER_SIZE);
+        while (header.hasRemaining() && in.read(header) >= 0) ;
+        header.flip();
+        if (header.remaining() < SNAPSHOT_HEADER_SIZE || header.getInt() != SNAPSHOT_MAGIC) {
+          throw new IOException("invalid snapshot file: " + snapshot);
+        }
+        snapshotGeneration = header.getLong();
+        skipIdsThrough(header.getLong());
+        MemberLogFile.read(in, SNAPSHOT_HEADER_SIZE, (type, member) -> replay(member));
+      }
+    }
+
+    long lastGeneration = snapshotGeneration;
+    for (Map.Entry<Long, Path> entry : walFiles().tailMap(snapshotGeneration).entrySet()) {
+      try (FileChannel in = FileChannel.open(entry.getValue(), StandardOpenOption.READ)) {
+        MemberLogFile.read(in, 0, (type, member) -> replay(member));
+      }
+      lastGeneration = entry.getKey();
+    }
+
+    // 끝이 잘렸을 수 있는 기존 WAL 뒤에 이어 쓰지 않고 새 세대에서 시작
+    generation = lastGeneration + 1;
+    wal = openWal(generation);
+  }
+
+  private void replay(final Member member) {
+    skipIdsThrough(member.getId());
+    super.update(member);
+  }
+
+  private FileChannel openWal(final long generation) throws IOException {
+    FileChannel channel = FileChannel.open(walPath(generation), StandardOpenOption.CREATE,
+        StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+      dir.force(true);
+    } catch (IOException e) {
+      // 디렉터리 fsync를 지원하지 않는 플랫폼은 무시
+    }
+    return channel;
+  }
+
+  private Path walPath(final long generation) {
+    return directory.resolve(String.format("%s%020d%s", WAL_PREFIX, generation, WAL_SUFFIX));
+  }
+
+  private TreeMap<Long, Path> walFiles() throws IOException {
+    TreeMap<Long, Path> files = new TreeMap<>();
+    try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, WAL_PREFIX + "*" + WAL_SUFFIX)) {
+      for (Path file : stream) {
+        String name = file.getFileName().toString();
+        files.put(Long.parseLong(name.substring(WAL_PREFIX.length(), name.length() - WAL_SUFFIX.length())), file);
+      }
+    }
+    return files;
+  }
+
+  private void checkOpen() {
+    if (failure != null) throw new UncheckedIOException("WAL write failed", failure);
+    if (closed) throw new IllegalStateException("member store is closed");
+  }
+
+  @Override
+  public void close() throws IOException {
+    synchronized (walLock) {
+      if (closed) return;
+      closed = true;
+      walLock.notifyAll();
+    }
+    snapshotScheduler.shutdown();
+    try {
+      snapshotScheduler.awaitTermination(1, TimeUnit.MINUTES);
+      committer.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    // 커밋 스레드가 끝난 뒤 남은 쓰기를 마저 기록
+    commit();
+    commitLock.lock();
+    try {
+      wal.close();
+    } finally {
+      commitLock.unlock();
+    }
+  }
+
+  private static Member copy(final Member member) {
+    if (member == null) return null;
+    Member copy = new Member(member.getEmail(), member.getPassword(), member.getName(),
+        member.getRegisterDateTime());
+    copy.setId(member.getId());
+    return copy;
+  }
+
+  private static class Undo {
+
+    private final long seq;
+    private final String email;
+    private final Member previous;
+
+    private Undo(final long seq, final String email, final Member previous) {
+      this.seq = seq;
+      this.email = email;
+      this.previous = previous;
+    }
+
+  }
+
+}
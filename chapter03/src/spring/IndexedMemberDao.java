@@ -0,0 +1,139 @@
+package chapter03.spring;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Predicate;
+
+public class IndexedMemberDao extends MemberDao {
+
+  private static final int LOCK_STRIPES = 64;
+
+  private final boolean indexById;
+  private final boolean indexByRegisterDateTime;
+  private final boolean indexByName;
+
+  private final MemberIdIndex idIndex = new MemberIdIndex();
+  private final ConcurrentNavigableMap<RegisterKey, Member> registerIndex = new ConcurrentSkipListMap<>();
+  private final NameTrie nameIndex = new NameTrie();
+
+  // 같은 이메일에 대한 저장과 색인 갱신이 섞이지 않도록 이메일 단위로 잠금
+  private final Object[] locks = new Object[LOCK_STRIPES];
+
+  public IndexedMemberDao() {
+    this(true, true, true);
+  }
+
+  public IndexedMemberDao(final boolean indexById, final boolean indexByRegisterDateTime,
+                          final boolean indexByName) {
+    this.indexById = indexById;
+    this.indexByRegisterDateTime = indexByRegisterDateTime;
+    this.indexByName = indexByName;
+    for (int i = 0; i < locks.length; i++) locks[i] = new Object();
+  }
+
+  @Override
+  public void insert(final Member member) {
+    synchronized (lockFor(member)) {
+      super.insert(member);
+      index(member);
+    }
+  }
+
+  @Override
+  public void update(final Member member) {
+    synchronized (lockFor(member)) {
+      Member old = selectByEmail(member.getEmail());
+      if (member.getId() == null && old != null) member.setId(old.getId());
+      super.update(member);
+      if (old == member) return;
+      if (old != null) unindex(old);
+      index(member);
+    }
+  }
+
+  public Member selectById(final long id) {
+    if (!indexById) return scan(m -> m.getId() != null && m.getId() == id).stream().findFirst().orElse(null);
+    return idIndex.get(id);
+  }
+
+  // from 이상 to 미만 기간에 가입한 회원을 가입 일시 순서로 조회 (from이 to보다 뒤면 빈 목록)
+  public Collection<Member> selectByRegisterDateTime(final LocalDateTime from, final LocalDateTime to) {
+    if (from.isAfter(to)) return new ArrayList<>();
+    if (!indexByRegisterDateTime) {
+      return scan(m -> !m.getRegisterDateTime().isBefore(from) && m.getRegisterDateTime().isBefore(to));
+    }
+    return new ArrayList<>(registerIndex.subMap(
+        new RegisterKey(from, Long.MIN_VALUE), true,
+        new RegisterKey(to, Long.MIN_VALUE), false).values());
+  }
+
+  public Collection<Member> selectByNamePrefix(final String prefix) {
+    if (!indexByName) return scan(m -> m.getName().startsWith(prefix));
+    return nameIndex.startsWith(prefix);
+  }
+
+  private void index(final Member member) {
+    if (indexById && member.getId() != null) idIndex.put(member.getId(), member);
+    if (indexByRegisterDateTime) registerIndex.put(RegisterKey.of(member), member);
+    if (indexByName) nameIndex.add(member);
+  }
+
+  private void unindex(final Member member) {
+    if (indexById && member.getId() != null) idIndex.remove(member.getId(), member);
+    if (indexByRegisterDateTime) registerIndex.remove(RegisterKey.of(member), member);
+    if (indexByName) nameIndex.remove(member);
+  }
+
+  private List<Member> scan(final Predicate<Member> filter) {
+    List<Member> result = new ArrayList<>();
+    for (Member m : selectAll()) {
+      if (filter.test(m)) result.add(m);
+    }
+    return result;
+  }
+
+  private Object lockFor(final Member member) {
+    return locks[member.getEmail().hashCode() & (LOCK_STRIPES - 1)];
+  }
+
+  // 가입 일시가 같은 회원이 여럿일 수 있으므로 아이디를 붙여 키를 구분
+  private static final class RegisterKey implements Comparable<RegisterKey> {
+
+    private final LocalDateTime registerDateTime;
+    private final long id;
+
+    private RegisterKey(final LocalDateTime registerDateTime, final long id) {
+      this.registerDateTime = registerDateTime;
+      this.id = id;
+    }
+
+    private static RegisterKey of(final Member member) {
+      Long id = member.getId();
+      return new RegisterKey(member.getRegisterDateTime(), id == null ? 0 : id);
+    }
+
+    @Override
+    public int compareTo(final RegisterKey other) {
+      int cmp = registerDateTime.compareTo(other.registerDateTime);
+      return cmp != 0 ? cmp : Long.compare(id, other.id);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      if (!(o instanceof RegisterKey)) return false;
+      RegisterKey other = (RegisterKey) o;
+      return id == other.id && registerDateTime.equals(other.registerDateTime);
+    }
+
+    @Override
+    public int hashCode() {
+      return registerDateTime.hashCode() * 31 + Long.hashCode(id);
+    }
+
+  }
+
+}
@@ -1,30 +1,52 @@
 package chapter03.spring;
 
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class MemberDao {
 
-  private static long nextId = 0;
+  private static final AtomicLong nextId = new AtomicLong();
 
-  private Map<String, Member> map = new HashMap<>();
+  private final ConcurrentMap<String, Member> map = new ConcurrentHashMap<>();
 
   public Member selectByEmail(final String email) {
     return map.get(email);
   }
 
   public void insert(final Member member) {
-    member.setId(++nextId);
-    map.put(member.getEmail(), member);
+    // 같은 이메일이 이미 있으면 저장하지 않고 익셉션 발생 (조회 후 삽입 사이의 경쟁 제거)
+    // 아이디는 실제로 저장할 때만 발급 (중복이면 아이디를 쓰지 않고 member도 바꾸지 않음)
+    Member stored = map.computeIfAbsent(member.getEmail(), email -> {
+      member.setId(nextId());
+      return member;
+    });
+    if (stored != member) {
+      throw new DuplicateMemberException("dup email " + member.getEmail());
+    }
   }
 
   public void update(final Member member) {
     map.put(member.getEmail(), member);
   }
 
+  // 하위 클래스가 반영에 실패한 쓰기를 되돌릴 때 사용
+  protected void delete(final String email) {
+    map.remove(email);
+  }
+
   public Collection<Member> selectAll() {
     return map.values();
   }
 
+  protected long nextId() {
+    return nextId.incrementAndGet();
+  }
+
+  // 저장해 둔 회원을 다시 읽어 들일 때 이미 발급한 아이디를 건너뜀
+  protected void skipIdsThrough(final long id) {
+    nextId.accumulateAndGet(id, Math::max);
+  }
+
 }
\ No newline at end of file
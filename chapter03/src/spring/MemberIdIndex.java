@@ -0,0 +1,66 @@
+package chapter03.spring;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+public class MemberIdIndex {
+
+  // 아이디는 1부터 순서대로 발급되므로 해시 대신 페이지 단위 배열에 바로 저장
+  private static final int PAGE_BITS = 12;
+  private static final int PAGE_SIZE = 1 << PAGE_BITS;
+  private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+  private volatile AtomicReferenceArray<AtomicReferenceArray<Member>> pages =
+      new AtomicReferenceArray<>(16);
+
+  public Member get(final long id) {
+    if (id < 0) return null;
+    AtomicReferenceArray<AtomicReferenceArray<Member>> dir = pages;
+    long pageNo = id >>> PAGE_BITS;
+    if (pageNo >= dir.length()) return null;
+    AtomicReferenceArray<Member> page = dir.get((int) pageNo);
+    return page == null ? null : page.get((int) (id & PAGE_MASK));
+  }
+
+  public void put(final long id, final Member member) {
+    if (id < 0) throw new IllegalArgumentException("negative id " + id);
+    page(id >>> PAGE_BITS).set((int) (id & PAGE_MASK), member);
+  }
+
+  public void remove(final long id, final Member member) {
+    if (id < 0) return;
+    AtomicReferenceArray<AtomicReferenceArray<Member>> dir = pages;
+    long pageNo = id >>> PAGE_BITS;
+    if (pageNo >= dir.length()) return;
+    AtomicReferenceArray<Member> page = dir.get((int) pageNo);
+    if (page != null) page.compareAndSet((int) (id & PAGE_MASK), member, null);
+  }
+
+  private AtomicReferenceArray<Member> page(final long pageNo) {
+    AtomicReferenceArray<AtomicReferenceArray<Member>> dir = pages;
+    if (pageNo < dir.length()) {
+      AtomicReferenceArray<Member> page = dir.get((int) pageNo);
+      if (page != null) return page;
+    }
+    return createPage(pageNo);
+  }
+
+  private synchronized AtomicReferenceArray<Member> createPage(final long pageNo) {
+    if (pageNo > Integer.MAX_VALUE - 8) throw new IllegalStateException("id out of range");
+    AtomicReferenceArray<AtomicReferenceArray<Member>> dir = pages;
+    if (pageNo >= dir.length()) {
+      int length = dir.length();
+      while (length <= pageNo) length <<= 1;
+      AtomicReferenceArray<AtomicReferenceArray<Member>> grown = new AtomicReferenceArray<>(length);
+      for (int i = 0; i < dir.length(); i++) grown.set(i, dir.get(i));
+      pages = grown;
+      dir = grown;
+    }
+    AtomicReferenceArray<Member> page = dir.get((int) pageNo);
+    if (page == null) {
+      page = new AtomicReferenceArray<>(PAGE_SIZE);
+      dir.set((int) pageNo, page);
+    }
+    return page;
+  }
+
+}
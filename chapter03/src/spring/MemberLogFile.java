@@ -0,0 +1,140 @@
+package chapter03.spring;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.zip.CRC32;
+
+// WAL과 스냅샷 파일이 함께 쓰는 레코드 형식
+// 길이(4) | CRC32(4) | 종류(1) | id(8) | 가입 초(8) | 가입 나노초(4) | 이메일 | 암호 | 이름 (문자열은 길이(4) + UTF-8)
+public class MemberLogFile {
+
+  public static final byte INSERT = 1;
+  public static final byte UPDATE = 2;
+
+  private static final int HEADER_SIZE = 8;
+  private static final int READ_BUFFER_SIZE = 1 << 20;
+  private static final int MAX_RECORD_SIZE = 1 << 24;
+
+  private MemberLogFile() {
+  }
+
+  public static ByteBuffer encode(final byte type, final Member member) {
+    if (member.getId() == null) {
+      throw new IllegalArgumentException("member id is required: " + member.getEmail());
+    }
+    byte[] email = member.getEmail().getBytes(StandardCharsets.UTF_8);
+    byte[] password = member.getPassword().getBytes(StandardCharsets.UTF_8);
+    byte[] name = member.getName().getBytes(StandardCharsets.UTF_8);
+    int payloadSize = 1 + 8 + 8 + 4 + 12 + email.length + password.length + name.length;
+
+    ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + payloadSize);
+    buffer.position(HEADER_SIZE);
+    buffer.put(type);
+    buffer.putLong(member.getId());
+    buffer.putLong(member.getRegisterDateTime().toEpochSecond(ZoneOffset.UTC));
+    buffer.putInt(member.getRegisterDateTime().getNano());
+    putString(buffer, email);
+    putString(buffer, password);
+    putString(buffer, name);
+
+    CRC32 crc = new CRC32();
+    crc.update(buffer.array(), HEADER_SIZE, payloadSize);
+    buffer.putInt(0, payloadSize);
+    buffer.putInt(4, (int) crc.getValue());
+    buffer.flip();
+    return buffer;
+  }
+
+  private static void putString(final ByteBuffer buffer, final byte[] value) {
+    buffer.putInt(value.length);
+    buffer.put(value);
+  }
+
+  public static void writeFully(final FileChannel channel, final ByteBuffer buffer) throws IOException {
+    while (buffer.hasRemaining()) channel.write(buffer);
+  }
+
+  public interface RecordHandler {
+    void handle(byte type, Member member);
+  }
+
+  // 파일 끝 또는 손상된 레코드(마지막 쓰기가 중간에 끊긴 경우)를 만나면 멈추고,
+  // 마지막으로 온전한 레코드가 끝난 위치를 돌려줌
+  public static long read(final FileChannel channel, final long from, final RecordHandler handler)
+      throws IOException {
+    Reader reader = new Reader(channel, from);
+    long valid = from;
+    CRC32 crc = new CRC32();
+    while (true) {
+      try {
+        int payloadSize = reader.ensure(HEADER_SIZE).getInt();
+        int checksum = reader.buffer.getInt();
+        if (payloadSize <= 0 || payloadSize > MAX_RECORD_SIZE) return valid;
+        ByteBuffer payload = reader.ensure(payloadSize);
+        crc.reset();
+        crc.update(payload.array(), payload.position(), payloadSize);
+        if ((int) crc.getValue() != checksum) return valid;
+
+        byte type = payload.get();
+        long id = payload.getLong();
+        LocalDateTime regDate = LocalDateTime.ofEpochSecond(
+            payload.getLong(), payload.getInt(), ZoneOffset.UTC);
+        Member member = new Member(getString(payload), getString(payload), getString(payload), regDate);
+        member.setId(id);
+        handler.handle(type, member);
+        valid += HEADER_SIZE + payloadSize;
+      } catch (EOFException e) {
+        return valid;
+      }
+    }
+  }
+
+  private static String getString(final ByteBuffer buffer) {
+    int length = buffer.getInt();
+    String value = new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8);
+    buffer.position(buffer.position() + length);
+    return value;
+  }
+
+  // FileChannel에서 큰 단위로 읽어 오면서 레코드 단위로 잘라 주는 버퍼
+  private static class Reader {
+
+    private final FileChannel channel;
+    private long position;
+    private ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+
+    private Reader(final FileChannel channel, final long position) {
+      this.channel = channel;
+      this.position = position;
+      buffer.flip();
+    }
+
+    private ByteBuffer ensure(final int bytes) throws IOException {
+      if (buffer.remaining() >= bytes) return buffer;
+      if (bytes > buffer.capacity()) {
+        ByteBuffer bigger = ByteBuffer.allocate(bytes);
+        bigger.put(buffer);
+        buffer = bigger;
+      } else {
+        buffer.compact();
+      }
+      while (buffer.position() < bytes) {
+        int read = channel.read(buffer, position);
+        if (read < 0) {
+          buffer.flip();
+          throw new EOFException();
+        }
+        position += read;
+      }
+      buffer.flip();
+      return buffer;
+    }
+
+  }
+
+}
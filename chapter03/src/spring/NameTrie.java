@@ -0,0 +1,82 @@
+package chapter03.spring;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class NameTrie {
+
+  private final Node root = new Node();
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  public void add(final Member member) {
+    lock.writeLock().lock();
+    try {
+      Node node = root;
+      String name = member.getName();
+      for (int i = 0; i < name.length(); i++) {
+        node = node.children.computeIfAbsent(name.charAt(i), c -> new Node());
+      }
+      node.members.put(member.getEmail(), member);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public void remove(final Member member) {
+    lock.writeLock().lock();
+    try {
+      remove(root, member, 0);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  // 하위에 남은 회원이 없는 노드는 함께 제거
+  private boolean remove(final Node node, final Member member, final int depth) {
+    String name = member.getName();
+    if (depth == name.length()) {
+      node.members.remove(member.getEmail(), member);
+    } else {
+      Node child = node.children.get(name.charAt(depth));
+      if (child != null && remove(child, member, depth + 1)) {
+        node.children.remove(name.charAt(depth));
+      }
+    }
+    return node.members.isEmpty() && node.children.isEmpty();
+  }
+
+  public List<Member> startsWith(final String prefix) {
+    lock.readLock().lock();
+    try {
+      Node node = root;
+      for (int i = 0; i < prefix.length() && node != null; i++) {
+        node = node.children.get(prefix.charAt(i));
+      }
+      List<Member> result = new ArrayList<>();
+      if (node == null) return result;
+
+      Deque<Node> stack = new ArrayDeque<>();
+      stack.push(node);
+      while (!stack.isEmpty()) {
+        Node current = stack.pop();
+        result.addAll(current.members.values());
+        current.children.values().forEach(stack::push);
+      }
+      return result;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private static class Node {
+    private final Map<Character, Node> children = new HashMap<>(4);
+    private final Map<String, Member> members = new HashMap<>(2);
+  }
+
+}
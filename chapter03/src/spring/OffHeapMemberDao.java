@@ -0,0 +1,257 @@
+package chapter03.spring;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class OffHeapMemberDao extends MemberDao {
+
+  // 레코드 구조 (48바이트 고정 길이)
+  // id(8) | 가입 초(8) | 가입 나노초(4) | 이메일 해시(4) | 이메일/암호/이름의 (오프셋(4), 길이(4))
+  private static final int RECORD_SIZE = 48;
+  private static final int ID = 0;
+  private static final int EPOCH_SECOND = 8;
+  private static final int NANO = 16;
+  private static final int EMAIL_HASH = 20;
+  private static final int EMAIL = 24;
+  private static final int PASSWORD = 32;
+  private static final int NAME = 40;
+
+  private ByteBuffer records;
+  private ByteBuffer arena;
+  private int size;
+
+  // 이메일 해시 인덱스 (개방 주소법, 값은 레코드 번호 + 1, 0은 빈 슬롯)
+  private int[] table;
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  public OffHeapMemberDao() {
+    this(1024);
+  }
+
+  public OffHeapMemberDao(final int expectedMembers) {
+    // 버퍼 하나는 Integer.MAX_VALUE 바이트를 넘을 수 없으므로 long으로 계산해서 제한
+    int capacity = Math.max(16, expectedMembers);
+    records = ByteBuffer.allocateDirect(bufferSize((long) capacity * RECORD_SIZE));
+    arena = ByteBuffer.allocateDirect(bufferSize((long) capacity * 64));
+    table = new int[tableSizeFor(capacity)];
+  }
+
+  @Override
+  public Member selectByEmail(final String email) {
+    byte[] key = email.getBytes(StandardCharsets.UTF_8);
+    lock.readLock().lock();
+    try {
+      int record = find(key, hash(key));
+      return record < 0 ? null : materialize(record);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public void insert(final Member member) {
+    byte[] email = member.getEmail().getBytes(StandardCharsets.UTF_8);
+    lock.writeLock().lock();
+    try {
+      insert(member, email, hash(email));
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  // 암호와 이름만 바뀔 수 있음. 이전 문자열 영역은 재사용하지 않음
+  @Override
+  public void update(final Member member) {
+    byte[] email = member.getEmail().getBytes(StandardCharsets.UTF_8);
+    lock.writeLock().lock();
+    try {
+      int hash = hash(email);
+      int record = find(email, hash);
+      if (record < 0) {
+        insert(member, email, hash);
+        return;
+      }
+      int base = base(record);
+      if (!member.getPassword().equals(readString(base + PASSWORD))) {
+        writeString(base + PASSWORD, member.getPassword().getBytes(StandardCharsets.UTF_8));
+      }
+      if (!member.getName().equals(readString(base + NAME))) {
+        writeString(base + NAME, member.getName().getBytes(StandardCharsets.UTF_8));
+      }
+      member.setId(records.getLong(base + ID));
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  public Collection<Member> selectAll() {
+    lock.readLock().lock();
+    try {
+      List<Member> members = new ArrayList<>(size);
+      for (int record = 0; record < size; record++) {
+        members.add(materialize(record));
+      }
+      return members;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return size;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  public long offHeapBytes() {
+    lock.readLock().lock();
+    try {
+      return (long) records.capacity() + arena.capacity();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private void insert(final Member member, final byte[] email, final int hash) {
+    if (find(email, hash) >= 0) {
+      throw new DuplicateMemberException("dup email " + member.getEmail());
+    }
+    member.setId(nextId());
+    int record = size;
+    ensureRecordCapacity(record + 1);
+    int base = base(record);
+    LocalDateTime regDate = member.getRegisterDateTime();
+    records.putLong(base + ID, member.getId());
+    records.putLong(base + EPOCH_SECOND, regDate.toEpochSecond(ZoneOffset.UTC));
+    records.putInt(base + NANO, regDate.getNano());
+    records.putInt(base + EMAIL_HASH, hash);
+    writeString(base + EMAIL, email);
+    writeString(base + PASSWORD, member.getPassword().getBytes(StandardCharsets.UTF_8));
+    writeString(base + NAME, member.getName().getBytes(StandardCharsets.UTF_8));
+    size++;
+
+    if (size * 2 > table.length) rehash(table.length * 2);
+    put(table, hash, record);
+  }
+
+  private Member materialize(final int record) {
+    int base = base(record);
+    LocalDateTime regDate = LocalDateTime.ofEpochSecond(
+        records.getLong(base + EPOCH_SECOND), records.getInt(base + NANO), ZoneOffset.UTC);
+    Member member = new Member(
+        readString(base + EMAIL), readString(base + PASSWORD), readString(base + NAME), regDate);
+    member.setId(records.getLong(base + ID));
+    return member;
+  }
+
+  private int find(final byte[] email, final int hash) {
+    int mask = table.length - 1;
+    for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+      int entry = table[slot];
+      if (entry == 0) return -1;
+      int record = entry - 1;
+      int base = base(record);
+      if (records.getInt(base + EMAIL_HASH) == hash && sameBytes(base + EMAIL, email)) {
+        return record;
+      }
+    }
+  }
+
+  private static void put(final int[] table, final int hash, final int record) {
+    int mask = table.length - 1;
+    int slot = hash & mask;
+    while (table[slot] != 0) slot = (slot + 1) & mask;
+    table[slot] = record + 1;
+  }
+
+  private void rehash(final int newLength) {
+    int[] newTable = new int[newLength];
+    for (int record = 0; record < size; record++) {
+      put(newTable, records.getInt(base(record) + EMAIL_HASH), record);
+    }
+    table = newTable;
+  }
+
+  private boolean sameBytes(final int field, final byte[] value) {
+    if (records.getInt(field + 4) != value.length) return false;
+    int offset = records.getInt(field);
+    for (int i = 0; i < value.length; i++) {
+      if (arena.get(offset + i) != value[i]) return false;
+    }
+    return true;
+  }
+
+  private void writeString(final int field, final byte[] value) {
+    int offset = arena.position();
+    ensureArenaCapacity(value.length);
+    arena.put(value);
+    records.putInt(field, offset);
+    records.putInt(field + 4, value.length);
+  }
+
+  private String readString(final int field) {
+    int offset = records.getInt(field);
+    int length = records.getInt(field + 4);
+    byte[] bytes = new byte[length];
+    for (int i = 0; i < length; i++) bytes[i] = arena.get(offset + i);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private void ensureRecordCapacity(final int count) {
+    if ((long) count * RECORD_SIZE <= records.capacity()) return;
+    records = grow(records, (long) count * RECORD_SIZE, base(size));
+  }
+
+  private void ensureArenaCapacity(final int bytes) {
+    if (arena.remaining() >= bytes) return;
+    arena = grow(arena, (long) arena.position() + bytes, arena.position());
+  }
+
+  // 두 배씩 늘린 새 버퍼에 기존 내용을 복사. 이전 버퍼는 GC 때 해제됨
+  private static ByteBuffer grow(final ByteBuffer buffer, final long required, final int used) {
+    long capacity = Math.max(required, (long) buffer.capacity() * 2);
+    if (capacity > Integer.MAX_VALUE) {
+      if (required > Integer.MAX_VALUE) throw new IllegalStateException("off-heap segment is full");
+      capacity = Integer.MAX_VALUE;
+    }
+    ByteBuffer grown = ByteBuffer.allocateDirect((int) capacity);
+    ByteBuffer source = buffer.duplicate();
+    source.clear().limit(used);
+    grown.put(source);
+    return grown;
+  }
+
+  private static int hash(final byte[] email) {
+    int h = Arrays.hashCode(email);
+    return h ^ (h >>> 16);
+  }
+
+  // 레코드의 시작 위치. records는 Integer.MAX_VALUE 바이트를 넘지 않으므로
+  // 저장된 레코드라면 넘치지 않고, 넘치면 잘못된 위치를 쓰지 않도록 익셉션 발생
+  private static int base(final int record) {
+    return Math.multiplyExact(record, RECORD_SIZE);
+  }
+
+  private static int bufferSize(final long bytes) {
+    return (int) Math.min(Integer.MAX_VALUE, bytes);
+  }
+
+  private static int tableSizeFor(final int expected) {
+    long n = Long.highestOneBit((long) Math.max(2, expected) * 2 - 1) << 1;
+    return (int) Math.min(1 << 30, n);
+  }
+
+}
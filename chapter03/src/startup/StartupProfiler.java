@@ -0,0 +1,136 @@
+package chapter03.startup;
+
+import org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessor;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+
+import java.io.PrintStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+
+// 빈마다 인스턴스 생성 직전부터 초기화가 끝날 때까지 걸린 시간을 기록
+// - 전체 시간: 이 빈을 만들면서 함께 만든 의존 빈의 시간까지 포함
+// - 자체 시간: 전체 시간에서 의존 빈을 만드는 데 쓴 시간을 뺀 값
+// enabled면 컨텍스트 refresh가 끝날 때 오래 걸린 순으로 출력하고, 이후에 생성되는 (lazy) 빈은 한 줄씩 출력
+// BeanPostProcessor이므로 설정 클래스에서 static @Bean 메서드로 등록해야 다른 빈보다 먼저 생성됨
+public class StartupProfiler implements InstantiationAwareBeanPostProcessor, ApplicationListener<ContextRefreshedEvent> {
+
+  private final boolean enabled;
+  private final PrintStream out;
+  private final long createdAt = System.nanoTime();
+  private final ThreadLocal<Deque<Frame>> frames = ThreadLocal.withInitial(ArrayDeque::new);
+  private final List<Timing> timings = new ArrayList<>();
+  private volatile boolean refreshed;
+
+  public StartupProfiler(final boolean enabled) {
+    this(enabled, System.out);
+  }
+
+  public StartupProfiler(final boolean enabled, final PrintStream out) {
+    this.enabled = enabled;
+    this.out = out;
+  }
+
+  @Override
+  public Object postProcessBeforeInstantiation(final Class<?> beanClass, final String beanName) {
+    if (enabled) frames.get().push(new Frame(beanName, System.nanoTime()));
+    return null;
+  }
+
+  @Override
+  public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+    if (!enabled) return bean;
+    Deque<Frame> stack = frames.get();
+    // 생성에 실패해서 남아 있는 프레임은 버림. FactoryBean이 만든 객체처럼 프레임이 없으면 무시
+    if (stack.stream().noneMatch(f -> f.beanName.equals(beanName))) return bean;
+    Frame frame;
+    do {
+      frame = stack.pop();
+    } while (!frame.beanName.equals(beanName));
+
+    long total = System.nanoTime() - frame.start;
+    if (!stack.isEmpty()) stack.peek().childNanos += total;
+    Timing timing = new Timing(beanName, bean.getClass().getName(), total, total - frame.childNanos);
+    synchronized (timings) {
+      timings.add(timing);
+    }
+    if (refreshed) out.printf("[startup] lazy 빈 생성: %s (%.1f ms)\n", beanName, total / 1e6);
+    return bean;
+  }
+
+  @Override
+  public void onApplicationEvent(final ContextRefreshedEvent event) {
+    if (!enabled || refreshed) return;
+    refreshed = true;
+    out.printf("[startup] refresh까지 %.1f ms, 생성한 빈 %d개\n", (System.nanoTime() - createdAt) / 1e6, getTimings().size());
+    out.print(formatTable(10));
+  }
+
+  public List<Timing> getTimings() {
+    synchronized (timings) {
+      return new ArrayList<>(timings);
+    }
+  }
+
+  // 전체 시간이 긴 순서로 limit 개
+  public String formatTable(final int limit) {
+    List<Timing> sorted = getTimings();
+    sorted.sort(Comparator.comparingLong(Timing::getTotalNanos).reversed());
+    StringBuilder sb = new StringBuilder();
+    sb.append(String.format("%-30s %10s %10s  %s\n", "bean", "total(ms)", "self(ms)", "class"));
+    for (Timing t : sorted.subList(0, Math.min(limit, sorted.size()))) {
+      sb.append(String.format("%-30s %10.2f %10.2f  %s\n",
+          t.getBeanName(), t.getTotalNanos() / 1e6, t.getSelfNanos() / 1e6, t.getBeanClass()));
+    }
+    return sb.toString();
+  }
+
+  private static class Frame {
+
+    private final String beanName;
+    private final long start;
+    private long childNanos;
+
+    private Frame(final String beanName, final long start) {
+      this.beanName = beanName;
+      this.start = start;
+    }
+
+  }
+
+  public static class Timing {
+
+    private final String beanName;
+    private final String beanClass;
+    private final long totalNanos;
+    private final long selfNanos;
+
+    private Timing(final String beanName, final String beanClass, final long totalNanos, final long selfNanos) {
+      this.beanName = beanName;
+      this.beanClass = beanClass;
+      this.totalNanos = totalNanos;
+      this.selfNanos = selfNanos;
+    }
+
+    public String getBeanName() {
+      return beanName;
+    }
+
+    public String getBeanClass() {
+      return beanClass;
+    }
+
+    public long getTotalNanos() {
+      return totalNanos;
+    }
+
+    public long getSelfNanos() {
+      return selfNanos;
+    }
+
+  }
+
+}
@@ -0,0 +1,141 @@
+package io.wisoft.daewon.chapter04.config;
+
+import io.wisoft.daewon.chapter04.spring.ChangePasswordService;
+import io.wisoft.daewon.chapter04.spring.MemberDao;
+import io.wisoft.daewon.chapter04.spring.MemberInfoPrinter;
+import io.wisoft.daewon.chapter04.spring.MemberListPrinter;
+import io.wisoft.daewon.chapter04.spring.MemberPrinter;
+import io.wisoft.daewon.chapter04.spring.MemberRegisterService;
+import io.wisoft.daewon.chapter04.spring.MemberSummaryPrinter;
+import io.wisoft.daewon.chapter04.spring.VersionPrinter;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.context.support.GenericApplicationContext;
+
+// AotGenerator가 io.wisoft.daewon.chapter04.config.AppCtx로부터 생성한 코드
+// 직접 고치지 말고 설정 클래스를 바꾼 뒤 다시 생성: java aot.AotGenerator io.wisoft.daewon.chapter04.config.AppCtx <소스 루트 디렉터리>
+public final class AppCtxAot {
+
+  private AppCtxAot() {
+  }
+
+  public static GenericApplicationContext create() {
+    GenericApplicationContext ctx = new GenericApplicationContext();
+    registerBeans(ctx);
+    ctx.refresh();
+    return ctx;
+  }
+
+  public static void registerBeans(final GenericApplicationContext ctx) {
+    Beans beans = new Beans(ctx);
+    ctx.registerBean("changePwdSvc", ChangePasswordService.class, beans::newChangePwdSvc,
+        bd -> bd.setDestroyMethodName(AbstractBeanDefinition.INFER_METHOD));
+    ctx.registerBean("infoPrinter", MemberInfoPrinter.class, beans::newInfoPrinter,
+        bd -> bd.setDestroyMethodName(AbstractBeanDefinition.INFER_METHOD));
+    ctx.registerBean("listPrinter", MemberListPrinter.class, beans::newListPrinter,
+        bd -> bd.setDestroyMethodName(AbstractBeanDefinition.INFER_METHOD));
+    ctx.registerBean("memberDao", MemberDao.class, beans::newMemberDao,
+        bd -> bd.setDestroyMethodName(AbstractBeanDefinition.INFER_METHOD));
+    ctx.registerBean("memberPrinter1", MemberPrinter.class, beans::newMemberPrinter1,
+        bd -> bd.setDestroyMethodName(AbstractBeanDefinition.INFER_METHOD));
+    ctx.registerBean("memberPrinter2", MemberSummaryPrinter.class, beans::newMemberPrinter2,
+        bd -> bd.setDestroyMethodName(AbstractBeanDefinition.INFER_METHOD));
+    ctx.registerBean("memberRegSvc", MemberRegisterService.class, beans::newMemberRegSvc,
+        bd -> bd.setDestroyMethodName(AbstractBeanDefinition.INFER_METHOD));
+    ctx.registerBean("versionPrinter", VersionPrinter.class, beans::newVersionPrinter,
+        bd -> bd.setDestroyMethodName(AbstractBeanDefinition.INFER_METHOD));
+  }
+
+  // @Bean 메서드 사이의 호출을 컨테이너의 싱글톤으로 연결 (CGLIB으로 확장한 설정 클래스가 하던 일)
+  private static class Beans extends AppCtx {
+
+    private final GenericApplicationContext ctx;
+
+    private Beans(final GenericApplicationContext ctx) {
+      this.ctx = ctx;
+    }
+
+    @Override
+    public ChangePasswordService changePwdSvc() {
+      return ctx.getBean("changePwdSvc", ChangePasswordService.class);
+    }
+
+    @Override
+    public MemberInfoPrinter infoPrinter() {
+      return ctx.getBean("infoPrinter", MemberInfoPrinter.class);
+    }
+
+    @Override
+    public MemberListPrinter listPrinter() {
+      return ctx.getBean("listPrinter", MemberListPrinter.class);
+    }
+
+    @Override
+    public MemberDao memberDao() {
+      return ctx.getBean("memberDao", MemberDao.class);
+    }
+
+    @Override
+    public MemberPrinter memberPrinter1() {
+      return ctx.getBean("memberPrinter1", MemberPrinter.class);
+    }
+
+    @Override
+    public MemberSummaryPrinter memberPrinter2() {
+      return ctx.getBean("memberPrinter2", MemberSummaryPrinter.class);
+    }
+
+    @Override
+    public MemberRegisterService memberRegSvc() {
+      return ctx.getBean("memberRegSvc", MemberRegisterService.class);
+    }
+
+    @Override
+    public VersionPrinter versionPrinter() {
+      return ctx.getBean("versionPrinter", VersionPrinter.class);
+    }
+
+    private ChangePasswordService newChangePwdSvc() {
+      ChangePasswordService bean = super.changePwdSvc();
+      bean.setMemberDao(ctx.getBean("memberDao", MemberDao.class));
+      return bean;
+    }
+
+    private MemberInfoPrinter newInfoPrinter() {
+      MemberInfoPrinter bean = super.infoPrinter();
+      bean.setMemberDao(ctx.getBean("memberDao", MemberDao.class));
+      bean.setPrinter(ctx.getBean("memberPrinter1", MemberPrinter.class));
+      return bean;
+    }
+
+    private MemberListPrinter newListPrinter() {
+      MemberListPrinter bean = super.listPrinter();
+      bean.setMemberDao(ctx.getBean("memberDao", MemberDao.class));
+      bean.setPrinter(ctx.getBean("memberPrinter2", MemberSummaryPrinter.class));
+      return bean;
+    }
+
+    private MemberDao newMemberDao() {
+      return super.memberDao();
+    }
+
+    private MemberPrinter newMemberPrinter1() {
+      return super.memberPrinter1();
+    }
+
+    private MemberSummaryPrinter newMemberPrinter2() {
+      return super.memberPrinter2();
+    }
+
+    private MemberRegisterService newMemberRegSvc() {
+      MemberRegisterService bean = super.memberRegSvc();
+      bean.setMemberDao(ctx.getBean("memberDao", MemberDao.class));
+      return bean;
+    }
+
+    private VersionPrinter newVersionPrinter() {
+      return super.versionPrinter();
+    }
+
+  }
+
+}
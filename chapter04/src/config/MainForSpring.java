@@ -13,7 +13,9 @@ public class MainForSpring {
   private static ApplicationContext ctx = null;
 
   public static void main(String... args) throws IOException {
-    ctx = new AnnotationConfigApplicationContext(AppCtx.class);
+    // -Dcontext.aot=true: AotGenerator로 생성한 AppCtxAot로 컨텍스트 생성
+    ctx = Boolean.getBoolean("context.aot")
+        ? AppCtxAot.create() : new AnnotationConfigApplicationContext(AppCtx.class);
 
     BufferedReader reader = new BufferedReader(new InputStreamReader(System.in));
     while (true) {
@@ -4,23 +4,27 @@ import io.wisoft.daewon.chapter05.annotation.ManualBean;
 import org.springframework.stereotype.Component;
 
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Component
 public class MemberDao {
 
-  private static long nextId = 0;
+  private static final AtomicLong nextId = new AtomicLong();
 
-  private Map<String, Member> map = new HashMap<>();
+  private final ConcurrentMap<String, Member> map = new ConcurrentHashMap<>();
 
   public Member selectByEmail(final String email) {
     return map.get(email);
   }
 
   public void insert(final Member member) {
-    member.setId(++nextId);
-    map.put(member.getEmail(), member);
+    // 같은 이메일이 이미 있으면 저장하지 않고 익셉션 발생 (조회 후 삽입 사이의 경쟁 제거)
+    member.setId(nextId.incrementAndGet());
+    if (map.putIfAbsent(member.getEmail(), member) != null) {
+      throw new DuplicateMemberException("dup email " + member.getEmail());
+    }
   }
 
   public void update(final Member member) {
@@ -0,0 +1,25 @@
+package io.wisoft.daewon.annotation;
+
+import io.wisoft.daewon.cache.EvictionPolicy;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+// CacheAspect가 결과를 캐시할 메서드에 붙임. 설정은 메서드마다 따로 적용됨
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Memoize {
+
+  int maxSize() default 1000;
+
+  EvictionPolicy policy() default EvictionPolicy.LRU;
+
+  // 0이면 만료하지 않음
+  long ttl() default 0;
+
+  TimeUnit ttlUnit() default TimeUnit.SECONDS;
+
+}
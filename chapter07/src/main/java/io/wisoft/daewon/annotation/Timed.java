@@ -0,0 +1,12 @@
+package io.wisoft.daewon.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// ExeTimeAspect가 실행 시간을 측정할 메서드에 붙임
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Timed {
+}
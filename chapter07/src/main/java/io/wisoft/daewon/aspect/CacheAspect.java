@@ -1,36 +1,106 @@
 package io.wisoft.daewon.aspect;
 
+import io.wisoft.daewon.annotation.Memoize;
+import io.wisoft.daewon.cache.CacheKey;
+import io.wisoft.daewon.cache.LongMemoTable;
+import io.wisoft.daewon.cache.MemoCache;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
-import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.springframework.core.annotation.Order;
 
-import java.util.HashMap;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 @Aspect
 @Order(2)
 public class CacheAspect {
 
-  private Map<Long, Object> cache = new HashMap<>();
+  private final boolean specializeLongMethods;
+
+  // @Memoize 설정은 메서드마다 처음 호출될 때 한 번만 읽어서 캐시를 만듦
+  private final ConcurrentMap<Method, MethodCache> caches = new ConcurrentHashMap<>();
+
+  public CacheAspect() {
+    this(true);
+  }
+
+  // specializeLongMethods가 true면 long(long) 메서드에 LongMemoTable을 사용 (TTL이 없는 경우)
+  public CacheAspect(final boolean specializeLongMethods) {
+    this.specializeLongMethods = specializeLongMethods;
+  }
 
 //  @Pointcut("execution(public * io.wisoft.daewon.calculator ..*(long))")
 //  public void cacheTarget() {
 //  }
 
-  @Around("CommonPointcut.commonTarget()")
-  public Object execute(final ProceedingJoinPoint joinPoint) throws Throwable {
-    Long num = (Long) joinPoint.getArgs()[0];
-    if (cache.containsKey(num)) {
-      System.out.printf("CacheAspect: Cache에서 구함[%d]\n", num);
-      return cache.get(num);
+  // long(long) 메서드는 인자를 바인딩해서 받음 (getArgs()가 호출마다 만드는 Object[] 복사를 피함)
+  // 애노테이션을 붙인 메서드만 프록시의 어드바이스 체인에 포함됨 (나머지 메서드는 바로 대상 객체 호출)
+  // 공통 포인트컷과 @annotation(memoize)를 함께 쓰면 AspectJ 위버가 두 조건을 하나로 합치면서
+  // memoize 바인딩을 잃어버리므로 조건을 직접 적음
+  @Around(value = "execution(long *(long)) && @annotation(memoize) && args(num)",
+      argNames = "joinPoint,memoize,num")
+  public Object executeLong(final ProceedingJoinPoint joinPoint, final Memoize memoize, final long num)
+      throws Throwable {
+    Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+    MethodCache cache = cacheOf(method, memoize);
+    if (cache.longTable != null) return cache.longTable.get(num, key -> (Long) joinPoint.proceed());
+    return cache.memoCache.get(new CacheKey(method, new Object[]{num}), joinPoint::proceed);
+  }
+
+  @Around(value = "execution(* *(..)) && !execution(long *(long)) && @annotation(memoize)",
+      argNames = "joinPoint,memoize")
+  public Object execute(final ProceedingJoinPoint joinPoint, final Memoize memoize) throws Throwable {
+    Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+    MethodCache cache = cacheOf(method, memoize);
+    return cache.memoCache.get(new CacheKey(method, joinPoint.getArgs()), joinPoint::proceed);
+  }
+
+  private MethodCache cacheOf(final Method method, final Memoize memoize) {
+    MethodCache cache = caches.get(method);
+    if (cache != null) return cache;
+    return caches.computeIfAbsent(method, m -> newCache(m, memoize));
+  }
+
+  private MethodCache newCache(final Method method, final Memoize memoize) {
+    if (specializeLongMethods && memoize.ttl() == 0 && isLongToLong(method)) {
+      return new MethodCache(null, new LongMemoTable(memoize.maxSize()));
+    }
+    Duration ttl = Duration.ofNanos(memoize.ttlUnit().toNanos(memoize.ttl()));
+    return new MethodCache(new MemoCache<>(memoize.maxSize(), memoize.policy(), ttl), null);
+  }
+
+  private static boolean isLongToLong(final Method method) {
+    Class<?>[] params = method.getParameterTypes();
+    return method.getReturnType() == long.class && params.length == 1 && params[0] == long.class;
+  }
+
+  public Map<String, MemoCache.Stats> getStats() {
+    Map<String, MemoCache.Stats> stats = new LinkedHashMap<>();
+    caches.forEach((method, cache) ->
+        stats.put(method.getDeclaringClass().getSimpleName() + "." + method.getName(), cache.stats()));
+    return stats;
+  }
+
+  private static class MethodCache {
+
+    private final MemoCache<CacheKey, Object> memoCache;
+    private final LongMemoTable longTable;
+
+    private MethodCache(final MemoCache<CacheKey, Object> memoCache, final LongMemoTable longTable) {
+      this.memoCache = memoCache;
+      this.longTable = longTable;
+    }
+
+    private MemoCache.Stats stats() {
+      return longTable != null ? longTable.stats() : memoCache.stats();
     }
 
-    Object result = joinPoint.proceed();
-    cache.put(num, result);
-    System.out.printf("CacheAspect: Cache에 추가[%d]\n", num);
-    return result;
   }
 
 }
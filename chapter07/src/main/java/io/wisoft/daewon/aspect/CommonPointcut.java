@@ -7,4 +7,7 @@ public class CommonPointcut {
   @Pointcut("execution(public * io.wisoft.daewon.calculator ..*(..))")
   public void commonTarget() {}
 
+  @Pointcut("execution(* *(..)) && @annotation(io.wisoft.daewon.annotation.Timed)")
+  public void timedTarget() {}
+
 }
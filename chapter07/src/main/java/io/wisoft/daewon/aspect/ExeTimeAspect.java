@@ -1,24 +1,63 @@
 package io.wisoft.daewon.aspect;
 
+import io.wisoft.daewon.metrics.LatencyHistogram;
+import io.wisoft.daewon.metrics.LatencyMetrics;
+import io.wisoft.daewon.metrics.MetricsExporter;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.Signature;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.springframework.core.annotation.Order;
 
+import java.lang.reflect.Method;
 import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 @Aspect
 @Order(1)
 public class ExeTimeAspect {
 
+  private volatile LatencyMetrics metrics;
+  private final ConcurrentMap<Method, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+  private volatile MetricsExporter exporter;
+  private final ConcurrentMap<Method, Integer> metricIds = new ConcurrentHashMap<>();
+
+  public ExeTimeAspect() {
+    this((LatencyMetrics) null);
+  }
+
+  // metrics를 전달하면 호출마다 출력하지 않고 메서드별 히스토그램에 기록만 함
+  public ExeTimeAspect(final LatencyMetrics metrics) {
+    this.metrics = metrics;
+  }
+
+  // exporter를 전달하면 측정값을 링 버퍼에 넣기만 함 (집계와 출력은 exporter의 스레드가 처리)
+  public ExeTimeAspect(final MetricsExporter exporter) {
+    this.exporter = exporter;
+  }
+
+  // 로드 타임 위빙에서는 AspectJ가 기본 생성자로 애스펙트를 만들기 때문에 생성 후에 설정
+  public void setMetrics(final LatencyMetrics metrics) {
+    this.metrics = metrics;
+  }
+
+  public void setExporter(final MetricsExporter exporter) {
+    this.exporter = exporter;
+  }
+
   @Pointcut("execution(public * io.wisoft.daewon.calculator ..*(..))")
   public void publicTarget() {
   }
 
-  @Around("CommonPointcut.commonTarget()")
+  @Around("CommonPointcut.timedTarget()")
   public Object measure(final ProceedingJoinPoint joinPoint) throws Throwable {
+    MetricsExporter exporter = this.exporter;
+    if (exporter != null) return publish(joinPoint, exporter);
+    LatencyMetrics metrics = this.metrics;
+    if (metrics != null) return record(joinPoint, metrics);
     long start = System.nanoTime();
     try {
       return joinPoint.proceed();
@@ -31,4 +70,39 @@ public class ExeTimeAspect {
     }
   }
 
+  private Object record(final ProceedingJoinPoint joinPoint, final LatencyMetrics metrics) throws Throwable {
+    LatencyHistogram histogram = histogramOf(((MethodSignature) joinPoint.getSignature()).getMethod(), metrics);
+    long start = System.nanoTime();
+    try {
+      return joinPoint.proceed();
+    } finally {
+      histogram.record(System.nanoTime() - start);
+    }
+  }
+
+  private Object publish(final ProceedingJoinPoint joinPoint, final MetricsExporter exporter) throws Throwable {
+    int id = metricIdOf(((MethodSignature) joinPoint.getSignature()).getMethod(), exporter);
+    long start = System.nanoTime();
+    try {
+      return joinPoint.proceed();
+    } finally {
+      exporter.publish(id, System.nanoTime() - start);
+    }
+  }
+
+  private int metricIdOf(final Method method, final MetricsExporter exporter) {
+    Integer id = metricIds.get(method);
+    if (id != null) return id;
+    return metricIds.computeIfAbsent(method, m ->
+        exporter.register(m.getDeclaringClass().getSimpleName() + "." + m.getName()));
+  }
+
+  // 히스토그램 이름은 메서드마다 처음 한 번만 만듦
+  private LatencyHistogram histogramOf(final Method method, final LatencyMetrics metrics) {
+    LatencyHistogram histogram = histograms.get(method);
+    if (histogram != null) return histogram;
+    return histograms.computeIfAbsent(method, m ->
+        metrics.histogram(m.getDeclaringClass().getSimpleName() + "." + m.getName()));
+  }
+
 }
@@ -0,0 +1,37 @@
+package io.wisoft.daewon.cache;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+// 메서드와 모든 인자로 만든 키. 같은 인자라도 메서드가 다르면 다른 키
+public final class CacheKey {
+
+  private final Method method;
+  private final Object[] args;
+  private final int hash;
+
+  public CacheKey(final Method method, final Object[] args) {
+    this.method = method;
+    this.args = args;
+    this.hash = 31 * method.hashCode() + Arrays.deepHashCode(args);
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) return true;
+    if (!(o instanceof CacheKey)) return false;
+    CacheKey other = (CacheKey) o;
+    return hash == other.hash && method.equals(other.method) && Arrays.deepEquals(args, other.args);
+  }
+
+  @Override
+  public int hashCode() {
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    return method.getDeclaringClass().getSimpleName() + "." + method.getName() + Arrays.deepToString(args);
+  }
+
+}
@@ -0,0 +1,10 @@
+package io.wisoft.daewon.cache;
+
+public enum EvictionPolicy {
+
+  // 가장 오래전에 사용한 항목부터 제거
+  LRU,
+  // 가장 적게 사용한 항목부터 제거 (같으면 오래전에 사용한 항목)
+  LFU
+
+}
@@ -0,0 +1,129 @@
+package io.wisoft.daewon.cache;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// long -> long 전용 메모이제이션 테이블. Long 박싱과 엔트리 객체가 없어서 조회할 때 할당하지 않음
+// - 0 ~ DENSE_SIZE-1 키(factorial 0..20 같은 작은 범위)는 키를 그대로 인덱스로 쓰는 배열에 저장
+// - 나머지 키는 개방 주소법 long[] 테이블에 저장하고, maxSize에 도달하면 테이블을 새로 만들어 비움
+// 조회는 잠금 없이 처리하고 저장만 synchronized로 처리
+// 같은 키를 동시에 계산할 수 있으므로 같은 입력에 항상 같은 값을 돌려주는 메서드에만 사용
+public class LongMemoTable {
+
+  private static final int DENSE_SIZE = 64;
+
+  private final long[] denseValues = new long[DENSE_SIZE];
+  private final AtomicIntegerArray densePresent = new AtomicIntegerArray(DENSE_SIZE);
+
+  private final int maxSize;
+  private final int capacity;
+  private volatile Table table;
+  private int size;
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  public interface LongLoader {
+    long load(long key) throws Throwable;
+  }
+
+  public LongMemoTable(final int maxSize) {
+    if (maxSize < 1) throw new IllegalArgumentException("maxSize must be positive");
+    this.maxSize = maxSize;
+    this.capacity = Integer.highestOneBit(Math.max(2, maxSize) * 2 - 1) << 1;
+    this.table = new Table(capacity);
+  }
+
+  public long get(final long key, final LongLoader loader) throws Throwable {
+    if (key >= 0 && key < DENSE_SIZE) {
+      int index = (int) key;
+      if (densePresent.get(index) != 0) {
+        hits.increment();
+        return denseValues[index];
+      }
+      misses.increment();
+      long value = loader.load(key);
+      denseValues[index] = value;
+      densePresent.lazySet(index, 1);
+      return value;
+    }
+
+    Table t = table;
+    int slot = t.find(key);
+    if (slot >= 0) {
+      hits.increment();
+      return t.values[slot];
+    }
+    misses.increment();
+    long value = loader.load(key);
+    put(key, value);
+    return value;
+  }
+
+  private synchronized void put(final long key, final long value) {
+    if (table.find(key) >= 0) return;
+    if (size >= maxSize) {
+      // 읽는 중인 스레드는 이전 테이블을 계속 볼 수 있도록 비우지 않고 교체
+      table = new Table(capacity);
+      evictions.add(size);
+      size = 0;
+    }
+    table.insert(key, value);
+    size++;
+  }
+
+  public synchronized void clear() {
+    table = new Table(capacity);
+    size = 0;
+    for (int i = 0; i < DENSE_SIZE; i++) densePresent.set(i, 0);
+  }
+
+  public synchronized int size() {
+    int dense = 0;
+    for (int i = 0; i < DENSE_SIZE; i++) dense += densePresent.get(i);
+    return size + dense;
+  }
+
+  public MemoCache.Stats stats() {
+    return new MemoCache.Stats(hits.sum(), misses.sum(), 0, evictions.sum(), 0, size());
+  }
+
+  private static class Table {
+
+    private final long[] keys;
+    private final long[] values;
+    // 0: 빈 슬롯, 1: 사용 중. 키와 값을 쓴 뒤에 lazySet으로 표시해서 읽는 쪽이 완성된 값만 보도록 함
+    private final AtomicIntegerArray used;
+    private final int mask;
+
+    private Table(final int capacity) {
+      keys = new long[capacity];
+      values = new long[capacity];
+      used = new AtomicIntegerArray(capacity);
+      mask = capacity - 1;
+    }
+
+    private int find(final long key) {
+      for (int slot = hash(key) & mask; used.get(slot) != 0; slot = (slot + 1) & mask) {
+        if (keys[slot] == key) return slot;
+      }
+      return -1;
+    }
+
+    private void insert(final long key, final long value) {
+      int slot = hash(key) & mask;
+      while (used.get(slot) != 0) slot = (slot + 1) & mask;
+      keys[slot] = key;
+      values[slot] = value;
+      used.lazySet(slot, 1);
+    }
+
+    private static int hash(final long key) {
+      long h = key * 0x9E3779B97F4A7C15L;
+      return (int) (h ^ (h >>> 32));
+    }
+
+  }
+
+}
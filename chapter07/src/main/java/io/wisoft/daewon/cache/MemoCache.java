@@ -0,0 +1,242 @@
+package io.wisoft.daewon.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+// 여러 스레드가 함께 쓰는 메모이제이션 캐시
+// - 조회는 잠금 없이 ConcurrentHashMap에서 처리하고, 사용 시각/횟수만 항목에 기록
+// - 같은 키를 동시에 요청하면 한 스레드만 계산하고 나머지는 그 결과를 기다림 (single-flight)
+// - 크기가 maxSize를 넘으면 한 스레드가 정책(LRU/LFU)에 따라 하위 항목을 한꺼번에 제거해서 maxSize의 90%로 줄임
+public class MemoCache<K, V> {
+
+  private static final double EVICT_TO = 0.9;
+
+  private final int maxSize;
+  private final EvictionPolicy policy;
+  private final long ttlNanos;
+
+  private final ConcurrentMap<K, Entry<V>> map = new ConcurrentHashMap<>();
+  private final ReentrantLock evictionLock = new ReentrantLock();
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder waits = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+  private final LongAdder expirations = new LongAdder();
+
+  public interface Loader<V> {
+    V load() throws Throwable;
+  }
+
+  // ttl이 0이면 만료하지 않음
+  public MemoCache(final int maxSize, final EvictionPolicy policy, final Duration ttl) {
+    if (maxSize < 1) throw new IllegalArgumentException("maxSize must be positive");
+    this.maxSize = maxSize;
+    this.policy = policy;
+    this.ttlNanos = ttl.toNanos();
+  }
+
+  public V get(final K key, final Loader<V> loader) throws Throwable {
+    while (true) {
+      Entry<V> entry = map.get(key);
+      if (entry != null) {
+        if (!entry.isExpired()) {
+          if (entry.future.isDone()) {
+            hits.increment();
+          } else {
+            if (entry.owner == Thread.currentThread()) {
+              throw new IllegalStateException("recursive load of the same key: " + key);
+            }
+            waits.increment();
+          }
+          entry.touch();
+          return await(entry);
+        }
+        if (map.remove(key, entry)) expirations.increment();
+        continue;
+      }
+
+      Entry<V> created = new Entry<>(ttlNanos);
+      if (map.putIfAbsent(key, created) != null) continue;
+      misses.increment();
+      load(key, created, loader);
+      if (map.size() > maxSize) evict();
+      return await(created);
+    }
+  }
+
+  private void load(final K key, final Entry<V> entry, final Loader<V> loader) {
+    try {
+      V value = loader.load();
+      entry.loaded();
+      entry.future.complete(value);
+    } catch (Throwable e) {
+      // 실패한 결과는 캐시에 남기지 않음 (기다리던 스레드에는 같은 익셉션 전달)
+      map.remove(key, entry);
+      entry.future.completeExceptionally(e);
+    } finally {
+      entry.owner = null;
+    }
+  }
+
+  private V await(final Entry<V> entry) throws Throwable {
+    try {
+      return entry.future.get();
+    } catch (ExecutionException e) {
+      throw e.getCause();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw e;
+    }
+  }
+
+  // 다른 스레드가 이미 제거 중이면 건너뜀. 계산 중인 항목은 제거 대상에서 제외
+  private void evict() {
+    if (!evictionLock.tryLock()) return;
+    try {
+      int size = map.size();
+      if (size <= maxSize) return;
+      // 정렬 도중에 사용 기록이 바뀌지 않도록 현재 값을 복사해 두고 정렬
+      List<Candidate<K, V>> candidates = new ArrayList<>(size);
+      for (Map.Entry<K, Entry<V>> e : map.entrySet()) {
+        if (e.getValue().future.isDone()) candidates.add(new Candidate<>(e.getKey(), e.getValue()));
+      }
+      Comparator<Candidate<K, V>> order = Comparator.comparingLong(c -> c.lastAccess);
+      if (policy == EvictionPolicy.LFU) {
+        order = Comparator.<Candidate<K, V>>comparingInt(c -> c.frequency).thenComparing(order);
+      }
+      candidates.sort(order);
+
+      int toRemove = Math.min(candidates.size(), size - (int) (maxSize * EVICT_TO));
+      for (int i = 0; i < toRemove; i++) {
+        Candidate<K, V> c = candidates.get(i);
+        if (map.remove(c.key, c.entry)) evictions.increment();
+      }
+    } finally {
+      evictionLock.unlock();
+    }
+  }
+
+  public void clear() {
+    map.clear();
+  }
+
+  public int size() {
+    return map.size();
+  }
+
+  public Stats stats() {
+    return new Stats(hits.sum(), misses.sum(), waits.sum(), evictions.sum(), expirations.sum(), map.size());
+  }
+
+  private static class Entry<V> {
+
+    private final CompletableFuture<V> future = new CompletableFuture<>();
+    private final long expiresAt;
+    private volatile Thread owner = Thread.currentThread();
+    private volatile long lastAccess = System.nanoTime();
+    // 여러 스레드가 동시에 더하면 일부가 빠질 수 있지만 LFU 순서를 정하는 데는 충분함
+    private volatile int frequency;
+
+    private Entry(final long ttlNanos) {
+      this.expiresAt = ttlNanos > 0 ? System.nanoTime() + ttlNanos : Long.MAX_VALUE;
+    }
+
+    private boolean isExpired() {
+      return expiresAt != Long.MAX_VALUE && System.nanoTime() - expiresAt > 0;
+    }
+
+    private void loaded() {
+      lastAccess = System.nanoTime();
+    }
+
+    private void touch() {
+      lastAccess = System.nanoTime();
+      if (frequency < Integer.MAX_VALUE) frequency++;
+    }
+
+  }
+
+  private static class Candidate<K, V> {
+
+    private final K key;
+    private final Entry<V> entry;
+    private final long lastAccess;
+    private final int frequency;
+
+    private Candidate(final K key, final Entry<V> entry) {
+      this.key = key;
+      this.entry = entry;
+      this.lastAccess = entry.lastAccess;
+      this.frequency = entry.frequency;
+    }
+
+  }
+
+  public static class Stats {
+
+    private final long hitCount;
+    private final long missCount;
+    private final long waitCount;
+    private final long evictionCount;
+    private final long expirationCount;
+    private final int size;
+
+    Stats(final long hitCount, final long missCount, final long waitCount,
+          final long evictionCount, final long expirationCount, final int size) {
+      this.hitCount = hitCount;
+      this.missCount = missCount;
+      this.waitCount = waitCount;
+      this.evictionCount = evictionCount;
+      this.expirationCount = expirationCount;
+      this.size = size;
+    }
+
+    public long getHitCount() {
+      return hitCount;
+    }
+
+    public long getMissCount() {
+      return missCount;
+    }
+
+    // 다른 스레드의 계산이 끝나기를 기다린 횟수 (계산 한 번으로 합쳐진 요청)
+    public long getWaitCount() {
+      return waitCount;
+    }
+
+    public long getEvictionCount() {
+      return evictionCount;
+    }
+
+    public long getExpirationCount() {
+      return expirationCount;
+    }
+
+    public int getSize() {
+      return size;
+    }
+
+    public double getHitRatio() {
+      long total = hitCount + waitCount + missCount;
+      return total == 0 ? 0 : (double) (hitCount + waitCount) / total;
+    }
+
+    @Override
+    public String toString() {
+      return String.format("hit=%d, wait=%d, miss=%d, hitRatio=%.1f%%, eviction=%d, expiration=%d, size=%d",
+          hitCount, waitCount, missCount, getHitRatio() * 100, evictionCount, expirationCount, size);
+    }
+
+  }
+
+}
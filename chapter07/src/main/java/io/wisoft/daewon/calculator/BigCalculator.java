@@ -0,0 +1,10 @@
+package io.wisoft.daewon.calculator;
+
+import java.math.BigInteger;
+
+// Calculator와 달리 넘침 없이 정확한 값을 돌려주는 팩토리얼
+public interface BigCalculator {
+
+  BigInteger factorial(final long num);
+
+}
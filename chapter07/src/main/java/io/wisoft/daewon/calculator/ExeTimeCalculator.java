@@ -1,11 +1,22 @@
 package io.wisoft.daewon.calculator;
 
+import io.wisoft.daewon.metrics.MetricsExporter;
+
 public class ExeTimeCalculator implements Calculator {
 
   private Calculator delegate;
+  private final MetricsExporter exporter;
+  private final int metricId;
 
   public ExeTimeCalculator(final Calculator delegate) {
+    this(delegate, null);
+  }
+
+  // exporter를 전달하면 출력하지 않고 측정값만 넘김 (집계와 출력은 exporter의 스레드가 처리)
+  public ExeTimeCalculator(final Calculator delegate, final MetricsExporter exporter) {
     this.delegate = delegate;
+    this.exporter = exporter;
+    this.metricId = exporter != null ? exporter.register(delegate.getClass().getSimpleName() + ".factorial") : -1;
   }
 
   @Override
@@ -13,6 +24,10 @@ public class ExeTimeCalculator implements Calculator {
     long start = System.nanoTime();
     long result = delegate.factorial(num);
     long end = System.nanoTime();
+    if (exporter != null) {
+      exporter.publish(metricId, end - start);
+      return result;
+    }
     System.out.printf("%s.factorial(%d) 실행 시간 = %d\n",
         delegate.getClass().getSimpleName(), num, (end - start));
     return result;
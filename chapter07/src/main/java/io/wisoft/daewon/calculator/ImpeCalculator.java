@@ -1,8 +1,13 @@
 package io.wisoft.daewon.calculator;
 
+import io.wisoft.daewon.annotation.Memoize;
+import io.wisoft.daewon.annotation.Timed;
+
 public class ImpeCalculator implements Calculator {
 
   @Override
+  @Timed
+  @Memoize(maxSize = 100)
   public long factorial(long num) {
     long result = 1;
     for (long i = 1; i <= num; i++) {
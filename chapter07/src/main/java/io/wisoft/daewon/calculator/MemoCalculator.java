@@ -0,0 +1,36 @@
+package io.wisoft.daewon.calculator;
+
+import io.wisoft.daewon.cache.LongMemoTable;
+
+// ExeTimeCalculator처럼 직접 감싸는 방식의 캐시
+// 프록시를 거치지 않으므로 인자 배열 생성과 Long 박싱이 없고, 캐시에 있으면 할당 없이 결과를 돌려줌
+public class MemoCalculator implements Calculator {
+
+  private final LongMemoTable table;
+  private final LongMemoTable.LongLoader loader;
+
+  public MemoCalculator(final Calculator delegate) {
+    this(delegate, 1000);
+  }
+
+  public MemoCalculator(final Calculator delegate, final int maxSize) {
+    this.table = new LongMemoTable(maxSize);
+    this.loader = delegate::factorial;
+  }
+
+  @Override
+  public long factorial(final long num) {
+    try {
+      return table.get(num, loader);
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  public LongMemoTable getTable() {
+    return table;
+  }
+
+}
@@ -0,0 +1,102 @@
+package io.wisoft.daewon.calculator;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+// Luschny의 prime swing 알고리즘
+// n! = (n/2)!^2 * swing(n) 이고 swing(n)은 소수의 거듭제곱으로만 이루어짐
+// 홀수 부분만 계산한 뒤 마지막에 2의 거듭제곱(n - bitCount(n))만큼 시프트
+// - pool을 주면 swing(n)의 소인수 곱을 병렬로 계산
+// - swingCacheSize가 0보다 크면 계산한 swing(n)을 그 개수까지 보관 (n, n/2, n/4, ... 경로가 겹치는 호출이 재사용)
+public class PrimeSwingCalculator implements BigCalculator {
+
+  // 작은 n의 홀수 부분 팩토리얼 (0! ~ 25!, long에 들어가는 범위)
+  private static final long[] SMALL_ODD_FACTORIALS = smallOddFactorials();
+  private static final int PARALLEL_SWING_THRESHOLD = 1 << 14;
+
+  private final ForkJoinPool pool;
+  private final int swingCacheSize;
+  private final Map<Integer, BigInteger> swingCache = new ConcurrentHashMap<>();
+
+  public PrimeSwingCalculator() {
+    this(null, 0);
+  }
+
+  public PrimeSwingCalculator(final ForkJoinPool pool, final int swingCacheSize) {
+    this.pool = pool;
+    this.swingCacheSize = swingCacheSize;
+  }
+
+  @Override
+  public BigInteger factorial(final long num) {
+    if (num < 0) throw new IllegalArgumentException("num must not be negative: " + num);
+    if (num > Integer.MAX_VALUE - 1) throw new ArithmeticException("num is too large: " + num);
+    int n = (int) num;
+    BitSet composites = sieve(n);
+    return oddFactorial(n, composites).shiftLeft(n - Integer.bitCount(n));
+  }
+
+  private BigInteger oddFactorial(final int n, final BitSet composites) {
+    if (n < SMALL_ODD_FACTORIALS.length) return BigInteger.valueOf(SMALL_ODD_FACTORIALS[n]);
+    if (pool != null && n >= PARALLEL_SWING_THRESHOLD) {
+      // swing(n)은 (n/2)!과 독립이므로 다른 스레드에서 동시에 계산
+      ForkJoinTask<BigInteger> swing = pool.submit(() -> swing(n, composites));
+      BigInteger half = oddFactorial(n / 2, composites);
+      return half.multiply(half).multiply(swing.join());
+    }
+    BigInteger half = oddFactorial(n / 2, composites);
+    return half.multiply(half).multiply(swing(n, composites));
+  }
+
+  // swing(n)의 홀수 소인수 곱. 소수 p의 지수는 floor(n / p^k)가 홀수인 k의 개수
+  private BigInteger swing(final int n, final BitSet composites) {
+    if (swingCacheSize > 0) {
+      BigInteger cached = swingCache.get(n);
+      if (cached != null) return cached;
+    }
+
+    long[] factors = new long[Math.max(16, n / 4)];
+    int count = 0;
+    for (int p = 3; p <= n; p += 2) {
+      if (composites.get(p >> 1)) continue;
+      int q = n;
+      while ((q /= p) > 0) {
+        if ((q & 1) == 1) {
+          if (count == factors.length) factors = Arrays.copyOf(factors, count * 2);
+          factors[count++] = p;
+        }
+      }
+    }
+    BigInteger swing = ProductTree.product(factors, 0, count, pool);
+
+    if (swingCacheSize > 0 && swingCache.size() < swingCacheSize) swingCache.put(n, swing);
+    return swing;
+  }
+
+  // 홀수만 표시하는 에라토스테네스의 체 (인덱스 i는 2i + 1을 뜻함, 표시된 값이 합성수)
+  private static BitSet sieve(final int n) {
+    BitSet composites = new BitSet(n / 2 + 1);
+    for (long p = 3; p * p <= n; p += 2) {
+      if (composites.get((int) (p >> 1))) continue;
+      for (long m = p * p; m <= n; m += 2 * p) composites.set((int) (m >> 1));
+    }
+    return composites;
+  }
+
+  private static long[] smallOddFactorials() {
+    long[] table = new long[26];
+    long odd = 1;
+    table[0] = 1;
+    for (int i = 1; i < table.length; i++) {
+      odd *= i >> Integer.numberOfTrailingZeros(i);
+      table[i] = odd;
+    }
+    return table;
+  }
+
+}
@@ -0,0 +1,115 @@
+package io.wisoft.daewon.calculator;
+
+import java.math.BigInteger;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// 곱셈을 이진 트리 모양으로 나눠서 계산 (binary splitting)
+// 비슷한 크기의 수끼리 곱하게 되므로 BigInteger의 Karatsuba/Toom-Cook 곱셈이 효과를 냄
+// 작은 구간은 long에 넘치지 않는 만큼 먼저 곱한 뒤 BigInteger로 바꿈
+public final class ProductTree {
+
+  // 이보다 작은 구간은 나누지 않고 순서대로 곱함
+  private static final int LEAF_SIZE = 32;
+  // 이보다 큰 구간만 ForkJoinPool 작업으로 나눔 (작은 구간은 작업 생성 비용이 더 큼)
+  private static final int PARALLEL_THRESHOLD = 4096;
+
+  private ProductTree() {
+  }
+
+  // from * (from + 1) * ... * to (1 이상의 구간)
+  public static BigInteger rangeProduct(final long from, final long to, final ForkJoinPool pool) {
+    if (from > to) return BigInteger.ONE;
+    if (from < 1) throw new IllegalArgumentException("range must start at 1 or above: " + from);
+    if (pool != null && to - from >= PARALLEL_THRESHOLD) return pool.invoke(new RangeTask(from, to));
+    return rangeProduct(from, to);
+  }
+
+  // factors[from] * ... * factors[to - 1] (모든 값은 1 이상)
+  public static BigInteger product(final long[] factors, final int from, final int to, final ForkJoinPool pool) {
+    if (from >= to) return BigInteger.ONE;
+    if (pool != null && to - from >= PARALLEL_THRESHOLD) return pool.invoke(new ArrayTask(factors, from, to));
+    return product(factors, from, to);
+  }
+
+  private static BigInteger rangeProduct(final long from, final long to) {
+    if (to - from < LEAF_SIZE) {
+      BigInteger result = BigInteger.ONE;
+      long acc = 1;
+      for (long i = from; i <= to; i++) {
+        if (acc > Long.MAX_VALUE / i) {
+          result = result.multiply(BigInteger.valueOf(acc));
+          acc = 1;
+        }
+        acc *= i;
+      }
+      return result.multiply(BigInteger.valueOf(acc));
+    }
+    long mid = (from + to) >>> 1;
+    return rangeProduct(from, mid).multiply(rangeProduct(mid + 1, to));
+  }
+
+  private static BigInteger product(final long[] factors, final int from, final int to) {
+    if (to - from <= LEAF_SIZE) {
+      BigInteger result = BigInteger.ONE;
+      long acc = 1;
+      for (int i = from; i < to; i++) {
+        if (acc > Long.MAX_VALUE / factors[i]) {
+          result = result.multiply(BigInteger.valueOf(acc));
+          acc = 1;
+        }
+        acc *= factors[i];
+      }
+      return result.multiply(BigInteger.valueOf(acc));
+    }
+    int mid = (from + to) >>> 1;
+    return product(factors, from, mid).multiply(product(factors, mid, to));
+  }
+
+  private static class RangeTask extends RecursiveTask<BigInteger> {
+
+    private final long from;
+    private final long to;
+
+    private RangeTask(final long from, final long to) {
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected BigInteger compute() {
+      if (to - from < PARALLEL_THRESHOLD) return rangeProduct(from, to);
+      long mid = (from + to) >>> 1;
+      RangeTask left = new RangeTask(from, mid);
+      left.fork();
+      BigInteger right = new RangeTask(mid + 1, to).compute();
+      return left.join().multiply(right);
+    }
+
+  }
+
+  private static class ArrayTask extends RecursiveTask<BigInteger> {
+
+    private final long[] factors;
+    private final int from;
+    private final int to;
+
+    private ArrayTask(final long[] factors, final int from, final int to) {
+      this.factors = factors;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected BigInteger compute() {
+      if (to - from < PARALLEL_THRESHOLD) return product(factors, from, to);
+      int mid = (from + to) >>> 1;
+      ArrayTask left = new ArrayTask(factors, from, mid);
+      left.fork();
+      BigInteger right = new ArrayTask(factors, mid, to).compute();
+      return left.join().multiply(right);
+    }
+
+  }
+
+}
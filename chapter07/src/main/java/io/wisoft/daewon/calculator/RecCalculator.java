@@ -1,8 +1,13 @@
 package io.wisoft.daewon.calculator;
 
+import io.wisoft.daewon.annotation.Memoize;
+import io.wisoft.daewon.annotation.Timed;
+
 public class RecCalculator implements Calculator {
 
   @Override
+  @Timed
+  @Memoize(maxSize = 100)
   public long factorial(long num) {
       if (num == 0) return 1;
       else return num * factorial(num - 1);
@@ -0,0 +1,25 @@
+package io.wisoft.daewon.calculator;
+
+import java.math.BigInteger;
+import java.util.concurrent.ForkJoinPool;
+
+// 1 * 2 * ... * n을 곱셈 트리로 나눠서 계산. pool을 주면 큰 구간을 병렬로 계산
+public class SplitCalculator implements BigCalculator {
+
+  private final ForkJoinPool pool;
+
+  public SplitCalculator() {
+    this(null);
+  }
+
+  public SplitCalculator(final ForkJoinPool pool) {
+    this.pool = pool;
+  }
+
+  @Override
+  public BigInteger factorial(final long num) {
+    if (num < 0) throw new IllegalArgumentException("num must not be negative: " + num);
+    return ProductTree.rangeProduct(1, num, pool);
+  }
+
+}
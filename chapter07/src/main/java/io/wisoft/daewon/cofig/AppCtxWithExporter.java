@@ -0,0 +1,54 @@
+package io.wisoft.daewon.cofig;
+
+import io.wisoft.daewon.aspect.ExeTimeAspect;
+import io.wisoft.daewon.calculator.Calculator;
+import io.wisoft.daewon.calculator.RecCalculator;
+import io.wisoft.daewon.metrics.CsvSink;
+import io.wisoft.daewon.metrics.LogFileSink;
+import io.wisoft.daewon.metrics.MetricsExporter;
+import io.wisoft.daewon.metrics.MetricsSink;
+import io.wisoft.daewon.metrics.PrometheusSink;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Duration;
+
+// 측정값을 MetricsExporter로 넘기고 내보내기 스레드가 sink에 기록하는 설정
+// sink는 -Dmetrics.sink=log|csv|prometheus 로 선택 (기본값: log)
+@Configuration
+@EnableAspectJAutoProxy
+public class AppCtxWithExporter {
+
+  @Bean(destroyMethod = "close")
+  public MetricsExporter metricsExporter() throws IOException {
+    return new MetricsExporter(1 << 16, Duration.ofSeconds(1), metricsSink());
+  }
+
+  private MetricsSink metricsSink() throws IOException {
+    String sink = System.getProperty("metrics.sink", "log");
+    switch (sink) {
+      case "log":
+        return new LogFileSink(Paths.get("metrics.log"));
+      case "csv":
+        return new CsvSink(Paths.get("metrics.csv"));
+      case "prometheus":
+        return new PrometheusSink(Integer.getInteger("metrics.port", 9404));
+      default:
+        throw new IllegalArgumentException("unknown metrics.sink: " + sink);
+    }
+  }
+
+  @Bean
+  public ExeTimeAspect exeTimeAspect() throws IOException {
+    return new ExeTimeAspect(metricsExporter());
+  }
+
+  @Bean
+  public Calculator calculator() {
+    return new RecCalculator();
+  }
+
+}
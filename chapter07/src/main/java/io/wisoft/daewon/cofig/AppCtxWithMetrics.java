@@ -0,0 +1,34 @@
+package io.wisoft.daewon.cofig;
+
+import io.wisoft.daewon.aspect.ExeTimeAspect;
+import io.wisoft.daewon.calculator.Calculator;
+import io.wisoft.daewon.calculator.RecCalculator;
+import io.wisoft.daewon.metrics.LatencyMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+
+import java.time.Duration;
+
+@Configuration
+@EnableAspectJAutoProxy
+public class AppCtxWithMetrics {
+
+  @Bean(destroyMethod = "close")
+  public LatencyMetrics latencyMetrics() {
+    LatencyMetrics metrics = new LatencyMetrics();
+    metrics.startReporting(Duration.ofSeconds(1), System.out);
+    return metrics;
+  }
+
+  @Bean
+  public ExeTimeAspect exeTimeAspect() {
+    return new ExeTimeAspect(latencyMetrics());
+  }
+
+  @Bean
+  public Calculator calculator() {
+    return new RecCalculator();
+  }
+
+}
@@ -0,0 +1,55 @@
+package io.wisoft.daewon.cofig;
+
+import io.wisoft.daewon.aspect.CacheAspect;
+import io.wisoft.daewon.aspect.ExeTimeAspect;
+import io.wisoft.daewon.calculator.Calculator;
+import io.wisoft.daewon.calculator.ImpeCalculator;
+import io.wisoft.daewon.metrics.LatencyMetrics;
+import org.aspectj.lang.Aspects;
+import org.aspectj.lang.NoAspectBoundException;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// 프록시를 만들지 않고 AspectJ 로드 타임 위빙으로 ExeTimeAspect, CacheAspect를 적용하는 설정
+// 실행 옵션: -javaagent:aspectjweaver-1.9.5.jar -Dorg.aspectj.weaver.loadtime.configuration=META-INF/aop-weaving.xml
+//  (JDK 16 이상에서는 aop-weaving.xml의 concrete-aspect를 정의할 수 있도록 --add-opens java.base/java.lang=ALL-UNNAMED 추가)
+// - 클래스를 읽을 때 어드바이스 호출이 메서드 본문에 들어가므로 calculator 빈은 프록시가 아닌 ImpeCalculator 자체
+// - 위빙은 JVM 전체에 적용되므로 new로 만든 객체에도 적용되고, 같은 JVM에서 프록시 방식 설정을 함께 쓰면 어드바이스가 두 번 실행됨
+// - 애스펙트 객체는 AspectJ가 만들기 때문에 Aspects.aspectOf()로 가져와서 빈으로 등록
+@Configuration
+public class AppCtxWithWeaving {
+
+  @Bean(destroyMethod = "close")
+  public LatencyMetrics latencyMetrics() {
+    return new LatencyMetrics();
+  }
+
+  @Bean
+  public ExeTimeAspect exeTimeAspect() {
+    ExeTimeAspect aspect = aspectOf(ExeTimeAspect.class);
+    aspect.setMetrics(latencyMetrics());
+    return aspect;
+  }
+
+  @Bean
+  public CacheAspect cacheAspect() {
+    return aspectOf(CacheAspect.class);
+  }
+
+  // RecCalculator는 재귀 호출마다 execution 조인포인트가 실행되므로 ImpeCalculator 사용
+  @Bean
+  public Calculator calculator() {
+    return new ImpeCalculator();
+  }
+
+  private static <T> T aspectOf(final Class<T> aspectClass) {
+    try {
+      return Aspects.aspectOf(aspectClass);
+    } catch (NoAspectBoundException e) {
+      throw new IllegalStateException("load-time weaving is not active for " + aspectClass.getName()
+          + ": run with -javaagent:aspectjweaver.jar"
+          + " -Dorg.aspectj.weaver.loadtime.configuration=META-INF/aop-weaving.xml", e);
+    }
+  }
+
+}
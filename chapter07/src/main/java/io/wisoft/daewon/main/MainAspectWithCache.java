@@ -1,5 +1,6 @@
 package io.wisoft.daewon.main;
 
+import io.wisoft.daewon.aspect.CacheAspect;
 import io.wisoft.daewon.calculator.Calculator;
 import io.wisoft.daewon.cofig.AppCtxWithCache;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
@@ -15,6 +16,8 @@ public class MainAspectWithCache {
     cal.factorial(7);
     cal.factorial(5);
     cal.factorial(5);
+    ctx.getBean(CacheAspect.class).getStats()
+        .forEach((name, stats) -> System.out.println("CacheAspect: " + name + " " + stats));
 
     ctx.close();
   }
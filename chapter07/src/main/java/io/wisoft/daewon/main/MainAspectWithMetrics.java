@@ -0,0 +1,47 @@
+package io.wisoft.daewon.main;
+
+import io.wisoft.daewon.calculator.Calculator;
+import io.wisoft.daewon.cofig.AppCtxWithMetrics;
+import io.wisoft.daewon.metrics.LatencyHistogram;
+import io.wisoft.daewon.metrics.LatencyMetrics;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class MainAspectWithMetrics {
+
+  private static final int CALLS_PER_THREAD = 5_000_000;
+
+  public static void main(String... args) throws InterruptedException {
+    AnnotationConfigApplicationContext ctx =
+        new AnnotationConfigApplicationContext(AppCtxWithMetrics.class);
+
+    Calculator cal = ctx.getBean("calculator", Calculator.class);
+    int threads = Runtime.getRuntime().availableProcessors();
+    List<Thread> workers = new ArrayList<>();
+    long start = System.nanoTime();
+    for (int t = 0; t < threads; t++) {
+      Thread worker = new Thread(() -> {
+        long sink = 0;
+        for (int i = 0; i < CALLS_PER_THREAD; i++) sink += cal.factorial(i % 20);
+        if (sink == 42) System.out.println(sink);
+      });
+      workers.add(worker);
+      worker.start();
+    }
+    for (Thread worker : workers) worker.join();
+    long elapsed = System.nanoTime() - start;
+
+    LatencyMetrics metrics = ctx.getBean(LatencyMetrics.class);
+    System.out.println("----- 최종 결과");
+    System.out.print(metrics.formatTable());
+    for (LatencyHistogram.Snapshot s : metrics.snapshots()) {
+      System.out.printf("%s: 호출당 평균 %.1f ns (스레드 %d개, 측정 포함 전체 시간 기준)\n",
+          s.getName(), (double) elapsed * threads / s.getCount(), threads);
+    }
+
+    ctx.close();
+  }
+
+}
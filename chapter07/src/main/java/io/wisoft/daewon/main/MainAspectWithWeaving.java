@@ -0,0 +1,29 @@
+package io.wisoft.daewon.main;
+
+import io.wisoft.daewon.aspect.CacheAspect;
+import io.wisoft.daewon.calculator.Calculator;
+import io.wisoft.daewon.cofig.AppCtxWithWeaving;
+import io.wisoft.daewon.metrics.LatencyMetrics;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+// -javaagent:aspectjweaver-1.9.5.jar -Dorg.aspectj.weaver.loadtime.configuration=META-INF/aop-weaving.xml 로 실행
+public class MainAspectWithWeaving {
+
+  public static void main(String... args) {
+    AnnotationConfigApplicationContext ctx =
+        new AnnotationConfigApplicationContext(AppCtxWithWeaving.class);
+
+    Calculator cal = ctx.getBean("calculator", Calculator.class);
+    System.out.println("calculator 빈 타입: " + cal.getClass().getName());
+    cal.factorial(7);
+    cal.factorial(7);
+    cal.factorial(5);
+    cal.factorial(5);
+    ctx.getBean(CacheAspect.class).getStats()
+        .forEach((name, stats) -> System.out.println("CacheAspect: " + name + " " + stats));
+    System.out.print(ctx.getBean(LatencyMetrics.class).formatTable());
+
+    ctx.close();
+  }
+
+}
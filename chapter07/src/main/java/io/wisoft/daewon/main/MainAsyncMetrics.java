@@ -0,0 +1,49 @@
+package io.wisoft.daewon.main;
+
+import io.wisoft.daewon.calculator.Calculator;
+import io.wisoft.daewon.calculator.ExeTimeCalculator;
+import io.wisoft.daewon.calculator.ImpeCalculator;
+import io.wisoft.daewon.cofig.AppCtxWithExporter;
+import io.wisoft.daewon.metrics.MetricsExporter;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// -Dmetrics.sink=log|csv|prometheus 로 출력 대상을 고름
+public class MainAsyncMetrics {
+
+  private static final int CALLS_PER_THREAD = 2_000_000;
+
+  public static void main(String... args) throws InterruptedException {
+    AnnotationConfigApplicationContext ctx =
+        new AnnotationConfigApplicationContext(AppCtxWithExporter.class);
+
+    MetricsExporter exporter = ctx.getBean(MetricsExporter.class);
+    Calculator aspectCal = ctx.getBean("calculator", Calculator.class);
+    Calculator proxyCal = new ExeTimeCalculator(new ImpeCalculator(), exporter);
+
+    int threads = Runtime.getRuntime().availableProcessors();
+    List<Thread> workers = new ArrayList<>();
+    for (int t = 0; t < threads; t++) {
+      Thread worker = new Thread(() -> {
+        long sink = 0;
+        for (int i = 0; i < CALLS_PER_THREAD; i++) {
+          sink += aspectCal.factorial(i % 20);
+          sink += proxyCal.factorial(i % 20);
+        }
+        if (sink == 42) System.out.println(sink);
+      });
+      workers.add(worker);
+      worker.start();
+    }
+    for (Thread worker : workers) worker.join();
+
+    // close에서 남은 이벤트를 집계하고 마지막으로 내보냄
+    ctx.close();
+    System.out.print(exporter.getMetrics().formatTable());
+    System.out.printf("버린 이벤트: %d, 내보내기 실패: %d\n",
+        exporter.getDroppedCount(), exporter.getExportErrorCount());
+  }
+
+}
@@ -0,0 +1,39 @@
+package io.wisoft.daewon.main;
+
+import io.wisoft.daewon.calculator.BigCalculator;
+import io.wisoft.daewon.calculator.PrimeSwingCalculator;
+import io.wisoft.daewon.calculator.SplitCalculator;
+
+import java.math.BigInteger;
+import java.util.concurrent.ForkJoinPool;
+
+public class MainBigFactorial {
+
+  public static void main(String... args) {
+    ForkJoinPool pool = ForkJoinPool.commonPool();
+    BigCalculator[] calculators = {
+        new SplitCalculator(),
+        new SplitCalculator(pool),
+        new PrimeSwingCalculator(),
+        new PrimeSwingCalculator(pool, 0)
+    };
+    String[] names = {"split", "split(parallel)", "primeSwing", "primeSwing(parallel)"};
+
+    System.out.printf("코어 %d개\n", Runtime.getRuntime().availableProcessors());
+    for (long n : new long[]{100_000, 300_000, 1_000_000}) {
+      BigInteger expected = null;
+      for (int i = 0; i < calculators.length; i++) {
+        // 첫 호출은 JIT 워밍업으로 보고 두 번째 호출 시간을 출력
+        calculators[i].factorial(n);
+        long start = System.nanoTime();
+        BigInteger result = calculators[i].factorial(n);
+        long elapsed = System.nanoTime() - start;
+
+        if (expected == null) expected = result;
+        else if (!expected.equals(result)) throw new IllegalStateException(names[i] + " 결과 불일치: " + n);
+        System.out.printf("%d! %-22s %8.1f ms (%d bits)\n", n, names[i], elapsed / 1e6, result.bitLength());
+      }
+    }
+  }
+
+}
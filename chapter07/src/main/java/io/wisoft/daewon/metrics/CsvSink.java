@@ -0,0 +1,45 @@
+package io.wisoft.daewon.metrics;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+// 내보낼 때마다 이름별로 한 행씩 덧붙임 (단위: 나노초, 값은 시작 후 누적)
+public class CsvSink implements MetricsSink {
+
+  private static final String HEADER = "timestamp,name,count,mean_ns,p50_ns,p99_ns,p999_ns,max_ns,dropped\n";
+
+  private final BufferedWriter writer;
+
+  public CsvSink(final Path path) throws IOException {
+    boolean empty = !Files.exists(path) || Files.size(path) == 0;
+    this.writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    if (empty) {
+      writer.write(HEADER);
+      writer.flush();
+    }
+  }
+
+  @Override
+  public void export(final List<LatencyHistogram.Snapshot> snapshots, final long droppedCount) throws IOException {
+    long timestamp = System.currentTimeMillis();
+    for (LatencyHistogram.Snapshot s : snapshots) {
+      writer.write(String.format("%d,%s,%d,%.1f,%d,%d,%d,%d,%d\n",
+          timestamp, s.getName(), s.getCount(), s.getMean(),
+          s.getValueAtPercentile(50), s.getValueAtPercentile(99), s.getValueAtPercentile(99.9),
+          s.getMax(), droppedCount));
+    }
+    writer.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    writer.close();
+  }
+
+}
@@ -0,0 +1,178 @@
+package io.wisoft.daewon.metrics;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// 나노초 단위 지연 시간을 기록하는 히스토그램 (HdrHistogram과 같은 로그-선형 버킷)
+// 2의 거듭제곱 구간마다 SUB_BUCKETS 개로 나누므로 상대 오차는 1/SUB_BUCKETS 이하
+// 스레드마다 자기 Recorder에만 쓰고(잠금, CAS 없음), 읽을 때 모든 Recorder를 합침
+// 끝난 스레드의 Recorder는 retired 값에 합치고 목록에서 빼서, 스레드가 계속 바뀌어도 메모리와 snapshot() 시간이 늘지 않음
+public class LatencyHistogram {
+
+  private static final int SUB_BUCKET_BITS = 6;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  // 2^42 ns(약 73분)보다 긴 값은 마지막 버킷에 넣음
+  private static final int MAX_VALUE_BITS = 42;
+  private static final long MAX_VALUE = (1L << MAX_VALUE_BITS) - 1;
+  static final int BUCKET_COUNT = (MAX_VALUE_BITS - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+  private final String name;
+  private final List<Recorder> recorders = new CopyOnWriteArrayList<>();
+  private final ThreadLocal<Recorder> recorder = ThreadLocal.withInitial(this::newRecorder);
+  // 끝난 스레드가 기록한 값의 합 (this로 잠금)
+  private final long[] retiredCounts = new long[BUCKET_COUNT];
+  private long retiredCount;
+  private long retiredSum;
+  private long retiredMax;
+
+  public LatencyHistogram(final String name) {
+    this.name = name;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public void record(final long nanos) {
+    recorder.get().record(nanos);
+  }
+
+  public synchronized Snapshot snapshot() {
+    retireDeadRecorders();
+    long[] counts = retiredCounts.clone();
+    long count = retiredCount;
+    long sum = retiredSum;
+    long max = retiredMax;
+    for (Recorder r : recorders) {
+      for (int i = 0; i < BUCKET_COUNT; i++) counts[i] += r.counts.get(i);
+      count += r.count.get();
+      sum += r.sum.get();
+      max = Math.max(max, r.max.get());
+    }
+    return new Snapshot(name, counts, count, sum, max);
+  }
+
+  // 스레드가 처음 기록할 때 한 번 호출. 새 스레드가 생길 때마다 끝난 스레드를 정리
+  private synchronized Recorder newRecorder() {
+    retireDeadRecorders();
+    Recorder r = new Recorder(Thread.currentThread());
+    recorders.add(r);
+    return r;
+  }
+
+  // 스레드가 끝났으면 그 Recorder에는 더 이상 쓰지 않으므로 값을 retired에 합치고 목록에서 뺌 (this 잠금 안에서 호출)
+  private void retireDeadRecorders() {
+    List<Recorder> dead = new ArrayList<>();
+    for (Recorder r : recorders) {
+      if (r.isOwnerAlive()) continue;
+      for (int i = 0; i < BUCKET_COUNT; i++) retiredCounts[i] += r.counts.get(i);
+      retiredCount += r.count.get();
+      retiredSum += r.sum.get();
+      retiredMax = Math.max(retiredMax, r.max.get());
+      dead.add(r);
+    }
+    if (!dead.isEmpty()) recorders.removeAll(dead);
+  }
+
+  static int bucketOf(final long value) {
+    long v = Math.min(Math.max(value, 0), MAX_VALUE);
+    if (v < SUB_BUCKETS) return (int) v;
+    int shift = 63 - Long.numberOfLeadingZeros(v) - SUB_BUCKET_BITS;
+    return ((shift + 1) << SUB_BUCKET_BITS) + (int) ((v >>> shift) - SUB_BUCKETS);
+  }
+
+  // 버킷에 속하는 값 중 가장 큰 값
+  static long highestValueOf(final int bucket) {
+    if (bucket < SUB_BUCKETS) return bucket;
+    int shift = (bucket >> SUB_BUCKET_BITS) - 1;
+    long sub = (bucket & (SUB_BUCKETS - 1)) + SUB_BUCKETS;
+    return ((sub + 1) << shift) - 1;
+  }
+
+  // 한 스레드만 쓰므로 읽고 더한 값을 lazySet으로 저장 (다른 스레드가 읽을 때 long 값이 깨지지 않음)
+  // 스레드는 약한 참조로 가지고 있어서 Recorder가 끝난 스레드를 붙잡아 두지 않음
+  private static class Recorder {
+
+    private final WeakReference<Thread> owner;
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    private Recorder(final Thread owner) {
+      this.owner = new WeakReference<>(owner);
+    }
+
+    private boolean isOwnerAlive() {
+      Thread thread = owner.get();
+      return thread != null && thread.isAlive();
+    }
+
+    private void record(final long nanos) {
+      int bucket = bucketOf(nanos);
+      counts.lazySet(bucket, counts.get(bucket) + 1);
+      count.lazySet(count.get() + 1);
+      sum.lazySet(sum.get() + nanos);
+      if (nanos > max.get()) max.lazySet(nanos);
+    }
+
+  }
+
+  public static class Snapshot {
+
+    private final String name;
+    private final long[] counts;
+    private final long count;
+    private final long sum;
+    private final long max;
+
+    private Snapshot(final String name, final long[] counts,
+                     final long count, final long sum, final long max) {
+      this.name = name;
+      this.counts = counts;
+      this.count = count;
+      this.sum = sum;
+      this.max = max;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public long getCount() {
+      return count;
+    }
+
+    public long getSum() {
+      return sum;
+    }
+
+    public double getMean() {
+      return count == 0 ? 0 : (double) sum / count;
+    }
+
+    public long getMax() {
+      return max;
+    }
+
+    // percentile: 0 ~ 100. 해당 순위가 들어 있는 버킷의 상한값을 돌려줌 (최댓값을 넘지 않음)
+    public long getValueAtPercentile(final double percentile) {
+      long total = 0;
+      for (long c : counts) total += c;
+      if (total == 0) return 0;
+      long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+      long seen = 0;
+      for (int i = 0; i < counts.length; i++) {
+        seen += counts[i];
+        if (seen >= rank) return Math.min(highestValueOf(i), max);
+      }
+      return max;
+    }
+
+  }
+
+}
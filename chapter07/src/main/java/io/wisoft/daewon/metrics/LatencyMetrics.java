@@ -0,0 +1,69 @@
+package io.wisoft.daewon.metrics;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// 이름별 LatencyHistogram 모음. 스냅샷을 조회하거나 주기적으로 표 형태로 출력
+public class LatencyMetrics implements AutoCloseable {
+
+  private final ConcurrentMap<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+  private ScheduledExecutorService reporter;
+
+  public LatencyHistogram histogram(final String name) {
+    LatencyHistogram histogram = histograms.get(name);
+    if (histogram != null) return histogram;
+    return histograms.computeIfAbsent(name, LatencyHistogram::new);
+  }
+
+  public List<LatencyHistogram.Snapshot> snapshots() {
+    List<LatencyHistogram.Snapshot> snapshots = new ArrayList<>();
+    for (LatencyHistogram histogram : histograms.values()) snapshots.add(histogram.snapshot());
+    snapshots.sort(Comparator.comparing(LatencyHistogram.Snapshot::getName));
+    return snapshots;
+  }
+
+  // 단위: 마이크로초
+  public String formatTable() {
+    return formatTable(snapshots());
+  }
+
+  public static String formatTable(final List<LatencyHistogram.Snapshot> snapshots) {
+    StringBuilder sb = new StringBuilder();
+    sb.append(String.format("%-40s %12s %10s %10s %10s %10s %10s\n",
+        "name", "count", "mean(us)", "p50(us)", "p99(us)", "p999(us)", "max(us)"));
+    for (LatencyHistogram.Snapshot s : snapshots) {
+      sb.append(String.format("%-40s %12d %10.3f %10.3f %10.3f %10.3f %10.3f\n",
+          s.getName(), s.getCount(), s.getMean() / 1000.0,
+          s.getValueAtPercentile(50) / 1000.0,
+          s.getValueAtPercentile(99) / 1000.0,
+          s.getValueAtPercentile(99.9) / 1000.0,
+          s.getMax() / 1000.0));
+    }
+    return sb.toString();
+  }
+
+  public synchronized void startReporting(final Duration interval, final PrintStream out) {
+    if (reporter != null) throw new IllegalStateException("reporting already started");
+    reporter = Executors.newSingleThreadScheduledExecutor(r -> {
+      Thread t = new Thread(r, "latency-metrics-reporter");
+      t.setDaemon(true);
+      return t;
+    });
+    long millis = interval.toMillis();
+    reporter.scheduleAtFixedRate(() -> out.print(formatTable()), millis, millis, TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public synchronized void close() {
+    if (reporter != null) reporter.shutdownNow();
+  }
+
+}
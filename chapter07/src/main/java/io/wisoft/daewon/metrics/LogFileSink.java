@@ -0,0 +1,34 @@
+package io.wisoft.daewon.metrics;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// 내보낼 때마다 시각과 LatencyMetrics 표 형식의 집계 결과를 파일 끝에 덧붙임
+public class LogFileSink implements MetricsSink {
+
+  private final BufferedWriter writer;
+
+  public LogFileSink(final Path path) throws IOException {
+    this.writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+  }
+
+  @Override
+  public void export(final List<LatencyHistogram.Snapshot> snapshots, final long droppedCount) throws IOException {
+    writer.write("----- " + LocalDateTime.now() + " (dropped=" + droppedCount + ")\n");
+    writer.write(LatencyMetrics.formatTable(snapshots));
+    writer.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    writer.close();
+  }
+
+}
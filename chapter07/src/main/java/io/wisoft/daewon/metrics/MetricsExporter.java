@@ -0,0 +1,110 @@
+package io.wisoft.daewon.metrics;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// 측정값을 링 버퍼에 넣기만 하고, 백그라운드 스레드가 꺼내서 이름별 히스토그램에 집계한 뒤 주기적으로 sink에 내보냄
+// 측정하는 스레드는 I/O나 잠금을 기다리지 않음 (버퍼가 가득 차면 이벤트를 버림)
+public class MetricsExporter implements AutoCloseable {
+
+  private static final int DRAIN_BATCH = 4096;
+  private static final long IDLE_PARK_NANOS = Duration.ofMillis(1).toNanos();
+
+  private final MetricsRingBuffer buffer;
+  private final MetricsSink sink;
+  private final long intervalNanos;
+  private final LatencyMetrics metrics = new LatencyMetrics();
+
+  private final ConcurrentMap<String, Integer> ids = new ConcurrentHashMap<>();
+  // id -> 히스토그램. 내보내기 스레드만 기록하므로 히스토그램의 Recorder는 하나만 생김
+  private volatile LatencyHistogram[] histograms = new LatencyHistogram[0];
+
+  private final LongAdder exportErrors = new LongAdder();
+  private final Thread worker;
+  private volatile boolean running = true;
+
+  public MetricsExporter(final int bufferSize, final Duration interval, final MetricsSink sink) {
+    this.buffer = new MetricsRingBuffer(bufferSize);
+    this.sink = sink;
+    this.intervalNanos = interval.toNanos();
+    this.worker = new Thread(this::run, "metrics-exporter");
+    worker.setDaemon(true);
+    worker.start();
+  }
+
+  // 이름마다 한 번만 호출해서 id를 받아 두고 publish에 사용
+  public synchronized int register(final String name) {
+    Integer id = ids.get(name);
+    if (id != null) return id;
+    int newId = histograms.length;
+    LatencyHistogram[] grown = new LatencyHistogram[newId + 1];
+    System.arraycopy(histograms, 0, grown, 0, newId);
+    grown[newId] = metrics.histogram(name);
+    histograms = grown;
+    ids.put(name, newId);
+    return newId;
+  }
+
+  // 버퍼가 가득 차서 버렸으면 false
+  public boolean publish(final int id, final long nanos) {
+    return buffer.offer(id, nanos);
+  }
+
+  private void run() {
+    MetricsRingBuffer.EventHandler handler = (id, nanos) -> histograms[id].record(nanos);
+    long nextExport = System.nanoTime() + intervalNanos;
+    while (running) {
+      int drained = buffer.drain(handler, DRAIN_BATCH);
+      if (System.nanoTime() - nextExport >= 0) {
+        export();
+        nextExport = System.nanoTime() + intervalNanos;
+      }
+      if (drained == 0) LockSupport.parkNanos(IDLE_PARK_NANOS);
+    }
+    // 멈춘 뒤에도 버퍼에 남은 이벤트까지 집계하고 마지막으로 내보냄
+    int drained;
+    do {
+      drained = buffer.drain(handler, DRAIN_BATCH);
+    } while (drained > 0);
+    export();
+  }
+
+  private void export() {
+    try {
+      sink.export(metrics.snapshots(), buffer.getDroppedCount());
+    } catch (IOException | RuntimeException e) {
+      // 내보내기에 실패해도 집계는 계속함 (다음 주기에 누적값을 다시 내보냄)
+      exportErrors.increment();
+    }
+  }
+
+  public LatencyMetrics getMetrics() {
+    return metrics;
+  }
+
+  public long getDroppedCount() {
+    return buffer.getDroppedCount();
+  }
+
+  public long getExportErrorCount() {
+    return exportErrors.sum();
+  }
+
+  // 남은 이벤트를 모두 집계해서 마지막으로 내보낸 뒤 sink를 닫음
+  @Override
+  public void close() throws IOException {
+    running = false;
+    LockSupport.unpark(worker);
+    try {
+      worker.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    sink.close();
+  }
+
+}
@@ -0,0 +1,85 @@
+package io.wisoft.daewon.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// 여러 스레드가 쓰고 한 스레드만 읽는 고정 크기 링 버퍼 (MPSC)
+// 이벤트는 (이름 id, 값) 두 숫자라서 슬롯을 미리 배열로 만들어 두고 재사용함 (offer에서 할당 없음)
+// - 쓰는 쪽: tail을 CAS로 한 칸 차지하고 값을 쓴 뒤 슬롯의 sequence를 바꿔서 공개
+// - 읽는 쪽: sequence가 공개된 슬롯만 순서대로 읽고 head를 옮김
+// 버퍼가 가득 차면 기다리지 않고 이벤트를 버리고 버린 개수만 셈
+public class MetricsRingBuffer {
+
+  private final int capacity;
+  private final int mask;
+  private final int[] ids;
+  private final long[] values;
+  // 슬롯에 position 번째 이벤트를 다 쓰면 position + 1을 저장
+  private final AtomicLongArray sequences;
+
+  private final AtomicLong tail = new AtomicLong();
+  private volatile long head;
+  private final LongAdder dropped = new LongAdder();
+
+  public interface EventHandler {
+    void onEvent(int id, long value);
+  }
+
+  public MetricsRingBuffer(final int capacity) {
+    if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+      throw new IllegalArgumentException("capacity must be a power of two: " + capacity);
+    }
+    this.capacity = capacity;
+    this.mask = capacity - 1;
+    this.ids = new int[capacity];
+    this.values = new long[capacity];
+    this.sequences = new AtomicLongArray(capacity);
+  }
+
+  public boolean offer(final int id, final long value) {
+    long position;
+    do {
+      position = tail.get();
+      if (position - head >= capacity) {
+        dropped.increment();
+        return false;
+      }
+    } while (!tail.compareAndSet(position, position + 1));
+
+    int slot = (int) position & mask;
+    ids[slot] = id;
+    values[slot] = value;
+    sequences.lazySet(slot, position + 1);
+    return true;
+  }
+
+  // 읽는 스레드 한 개에서만 호출. 공개된 이벤트를 최대 limit 개까지 처리하고 처리한 개수를 돌려줌
+  public int drain(final EventHandler handler, final int limit) {
+    long position = head;
+    int count = 0;
+    while (count < limit) {
+      int slot = (int) position & mask;
+      if (sequences.get(slot) != position + 1) break;
+      handler.onEvent(ids[slot], values[slot]);
+      position++;
+      count++;
+    }
+    // 값을 다 읽은 뒤에 head를 옮겨야 쓰는 쪽이 슬롯을 다시 사용함
+    if (count > 0) head = position;
+    return count;
+  }
+
+  public int size() {
+    return (int) Math.max(0, tail.get() - head);
+  }
+
+  public int getCapacity() {
+    return capacity;
+  }
+
+  public long getDroppedCount() {
+    return dropped.sum();
+  }
+
+}
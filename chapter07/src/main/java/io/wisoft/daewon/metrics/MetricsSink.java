@@ -0,0 +1,17 @@
+package io.wisoft.daewon.metrics;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+// MetricsExporter가 주기적으로 집계 결과를 넘기는 대상. export는 내보내기 스레드 한 개에서만 호출됨
+public interface MetricsSink extends Closeable {
+
+  // snapshots는 시작 후 누적값, droppedCount는 버퍼가 가득 차서 버린 이벤트 수 (누적)
+  void export(List<LatencyHistogram.Snapshot> snapshots, long droppedCount) throws IOException;
+
+  @Override
+  default void close() throws IOException {
+  }
+
+}
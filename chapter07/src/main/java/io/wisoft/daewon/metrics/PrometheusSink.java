@@ -0,0 +1,72 @@
+package io.wisoft.daewon.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+
+// 마지막으로 내보낸 결과를 Prometheus 텍스트 형식으로 만들어 두고 http://localhost:<port>/metrics 로 제공
+// 요청을 처리할 때는 만들어 둔 문자열만 보내므로 집계 스레드와 경쟁하지 않음
+public class PrometheusSink implements MetricsSink {
+
+  private static final double[] QUANTILES = {0.5, 0.99, 0.999};
+
+  private final HttpServer server;
+  private volatile byte[] body = new byte[0];
+
+  public PrometheusSink(final int port) throws IOException {
+    server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+    server.createContext("/metrics", this::handle);
+    server.start();
+  }
+
+  public int getPort() {
+    return server.getAddress().getPort();
+  }
+
+  @Override
+  public void export(final List<LatencyHistogram.Snapshot> snapshots, final long droppedCount) {
+    StringBuilder sb = new StringBuilder();
+    sb.append("# HELP method_latency_seconds Method execution time.\n");
+    sb.append("# TYPE method_latency_seconds summary\n");
+    for (LatencyHistogram.Snapshot s : snapshots) {
+      String label = "method=\"" + escape(s.getName()) + "\"";
+      for (double q : QUANTILES) {
+        sb.append(String.format(Locale.ROOT, "method_latency_seconds{%s,quantile=\"%s\"} %.9f\n",
+            label, q, s.getValueAtPercentile(q * 100) / 1e9));
+      }
+      sb.append(String.format(Locale.ROOT, "method_latency_seconds_sum{%s} %.9f\n", label, s.getSum() / 1e9));
+      sb.append(String.format(Locale.ROOT, "method_latency_seconds_count{%s} %d\n", label, s.getCount()));
+    }
+    sb.append("# HELP metrics_dropped_events_total Events dropped because the ring buffer was full.\n");
+    sb.append("# TYPE metrics_dropped_events_total counter\n");
+    sb.append("metrics_dropped_events_total ").append(droppedCount).append('\n');
+    body = sb.toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  private void handle(final HttpExchange exchange) throws IOException {
+    byte[] response = body;
+    exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+    // 길이 0은 chunked 응답을 뜻하므로 빈 본문은 -1로 보냄
+    exchange.sendResponseHeaders(200, response.length == 0 ? -1 : response.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(response);
+    }
+  }
+
+  private static String escape(final String value) {
+    return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+  }
+
+  @Override
+  public void close() {
+    server.stop(0);
+  }
+
+}
@@ -0,0 +1,436 @@
+package aot;
+
+import org.aopalliance.aop.Advice;
+import org.springframework.aop.config.AopConfigUtils;
+import org.springframework.aop.framework.autoproxy.InfrastructureAdvisorAutoProxyCreator;
+import org.springframework.beans.factory.BeanCreationException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.context.annotation.AdviceMode;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.Ordered;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.config.TransactionManagementConfigUtils;
+import org.springframework.transaction.interceptor.BeanFactoryTransactionAttributeSourceAdvisor;
+import org.springframework.transaction.interceptor.TransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+// @Configuration 클래스를 읽어서 같은 빈을 등록하는 일반 자바 코드(<설정 클래스 이름>Aot)를 생성
+// 생성한 코드는 GenericApplicationContext에 빈마다 Supplier를 등록하므로 실행할 때
+// - 설정 클래스를 분석하거나 CGLIB으로 확장하지 않음 (@Bean 메서드 사이의 호출은 생성한 하위 클래스가 getBean으로 바꿈)
+// - @Autowired 대상을 리플렉션으로 찾지 않음 (어떤 빈을 어떤 세터로 주입할지 생성할 때 결정)
+// 지원하지 않는 설정(컴포넌트 스캔, @Import, 세터가 없는 private 필드 주입 등)을 만나면 생성하지 않고 익셉션 발생
+//
+// 사용법: AotGenerator <설정 클래스 이름> <소스 루트 디렉터리>
+public class AotGenerator {
+
+  private static final List<Class<? extends Annotation>> SUPPORTED_CONFIG_ANNOTATIONS =
+      Arrays.asList(Configuration.class, EnableTransactionManagement.class);
+
+  private final Class<?> configClass;
+  private final String packageName;
+  private final Map<String, BeanMethod> beans = new LinkedHashMap<>();
+  private final Map<String, Class<?>> imports = new HashMap<>();
+
+  public AotGenerator(final Class<?> configClass) {
+    this.configClass = configClass;
+    this.packageName = configClass.getPackage().getName();
+    validateConfigClass();
+    // getDeclaredMethods()의 순서는 정해져 있지 않으므로 이름 순으로 생성 (다시 생성해도 같은 코드)
+    List<Method> methods = new ArrayList<>(Arrays.asList(configClass.getDeclaredMethods()));
+    methods.sort(Comparator.comparing(Method::getName));
+    for (Method method : methods) {
+      Bean bean = method.getAnnotation(Bean.class);
+      if (bean == null) continue;
+      BeanMethod beanMethod = new BeanMethod(method, bean);
+      if (beans.put(beanMethod.name, beanMethod) != null) {
+        throw new IllegalStateException("duplicate bean name: " + beanMethod.name);
+      }
+    }
+  }
+
+  public static void main(String... args) throws Exception {
+    if (args.length != 2) {
+      System.out.println("사용법: AotGenerator <설정 클래스 이름> <소스 루트 디렉터리>");
+      return;
+    }
+    AotGenerator generator = new AotGenerator(Class.forName(args[0]));
+    Path file = generator.writeTo(Paths.get(args[1]));
+    System.out.println("생성: " + file);
+  }
+
+  public Path writeTo(final Path sourceRoot) throws IOException {
+    Path dir = sourceRoot.resolve(packageName.replace('.', '/'));
+    Files.createDirectories(dir);
+    Path file = dir.resolve(getGeneratedClassName() + ".java");
+    Files.write(file, generate().getBytes(StandardCharsets.UTF_8));
+    return file;
+  }
+
+  public String getGeneratedClassName() {
+    return configClass.getSimpleName() + "Aot";
+  }
+
+  private void validateConfigClass() {
+    if (!configClass.isAnnotationPresent(Configuration.class)) {
+      throw new IllegalArgumentException(configClass.getName() + " is not a @Configuration class");
+    }
+    for (Annotation annotation : configClass.getAnnotations()) {
+      if (!SUPPORTED_CONFIG_ANNOTATIONS.contains(annotation.annotationType())) {
+        throw new IllegalStateException("unsupported annotation on " + configClass.getName() + ": @"
+            + annotation.annotationType().getSimpleName());
+      }
+    }
+    EnableTransactionManagement tx = configClass.getAnnotation(EnableTransactionManagement.class);
+    if (tx != null && tx.mode() != AdviceMode.PROXY) {
+      throw new IllegalStateException("only @EnableTransactionManagement(mode = PROXY) is supported");
+    }
+    if (Modifier.isFinal(configClass.getModifiers())) {
+      throw new IllegalStateException(configClass.getName() + " must not be final");
+    }
+    for (Field field : configClass.getDeclaredFields()) {
+      if (field.getAnnotations().length > 0) {
+        throw new IllegalStateException("injection into the configuration class is not supported: " + field);
+      }
+    }
+  }
+
+  public String generate() {
+    imports.clear();
+    // 생성하는 클래스와 중첩 클래스 이름은 import한 타입과 겹치지 않도록 미리 차지
+    imports.put(getGeneratedClassName(), null);
+    imports.put("Beans", null);
+
+    String ctxType = name(GenericApplicationContext.class);
+    StringBuilder body = new StringBuilder();
+    body.append("public final class ").append(getGeneratedClassName()).append(" {\n\n");
+    body.append("  private ").append(getGeneratedClassName()).append("() {\n  }\n\n");
+
+    body.append("  public static ").append(ctxType).append(" create() {\n");
+    body.append("    ").append(ctxType).append(" ctx = new ").append(ctxType).append("();\n");
+    body.append("    registerBeans(ctx);\n");
+    body.append("    ctx.refresh();\n");
+    body.append("    return ctx;\n");
+    body.append("  }\n\n");
+
+    body.append("  public static void registerBeans(final ").append(ctxType).append(" ctx) {\n");
+    body.append("    Beans beans = new Beans(ctx);\n");
+    EnableTransactionManagement tx = configClass.getAnnotation(EnableTransactionManagement.class);
+    if (tx != null) appendTransactionInfrastructure(body, tx);
+    for (BeanMethod bean : beans.values()) appendRegistration(body, bean);
+    body.append("  }\n\n");
+
+    body.append("  // @Bean 메서드 사이의 호출을 컨테이너의 싱글톤으로 연결 (CGLIB으로 확장한 설정 클래스가 하던 일)\n");
+    body.append("  private static class Beans extends ").append(name(configClass)).append(" {\n\n");
+    body.append("    private final ").append(ctxType).append(" ctx;\n\n");
+    body.append("    private Beans(final ").append(ctxType).append(" ctx) {\n");
+    body.append("      this.ctx = ctx;\n");
+    body.append("    }\n");
+    for (BeanMethod bean : beans.values()) {
+      if (!bean.isStatic) appendOverride(body, bean);
+    }
+    for (BeanMethod bean : beans.values()) appendFactory(body, bean);
+    body.append("\n  }\n\n}\n");
+
+    StringBuilder sb = new StringBuilder();
+    sb.append("package ").append(packageName).append(";\n\n");
+    TreeSet<String> importLines = new TreeSet<>();
+    for (Class<?> type : imports.values()) {
+      if (type != null && !isImplicit(type)) importLines.add(type.getCanonicalName());
+    }
+    for (String line : importLines) sb.append("import ").append(line).append(";\n");
+    if (!importLines.isEmpty()) sb.append("\n");
+    sb.append("// AotGenerator가 ").append(configClass.getName()).append("로부터 생성한 코드\n");
+    sb.append("// 직접 고치지 말고 설정 클래스를 바꾼 뒤 다시 생성: java aot.AotGenerator ")
+        .append(configClass.getName()).append(" <소스 루트 디렉터리>\n");
+    sb.append(body);
+    return sb.toString();
+  }
+
+  private void appendTransactionInfrastructure(final StringBuilder sb, final EnableTransactionManagement tx) {
+    String creator = name(InfrastructureAdvisorAutoProxyCreator.class);
+    String source = name(TransactionAttributeSource.class);
+    String interceptor = name(TransactionInterceptor.class);
+    String advisor = name(BeanFactoryTransactionAttributeSourceAdvisor.class);
+    String infrastructure = "bd -> bd.setRole(" + name(BeanDefinition.class) + ".ROLE_INFRASTRUCTURE)";
+
+    sb.append("    // @EnableTransactionManagement: @Transactional 빈을 프록시로 감싸는 빈\n");
+    sb.append("    ctx.registerBean(").append(name(AopConfigUtils.class)).append(".AUTO_PROXY_CREATOR_BEAN_NAME, ")
+        .append(creator).append(".class, () -> {\n");
+    sb.append("      ").append(creator).append(" creator = new ").append(creator).append("();\n");
+    sb.append("      creator.setOrder(").append(name(Ordered.class)).append(".HIGHEST_PRECEDENCE);\n");
+    if (tx.proxyTargetClass()) sb.append("      creator.setProxyTargetClass(true);\n");
+    sb.append("      return creator;\n");
+    sb.append("    }, ").append(infrastructure).append(");\n");
+    sb.append("    ctx.registerBean(\"transactionAttributeSource\", ").append(source).append(".class,\n        () -> new ")
+        .append(name(AnnotationTransactionAttributeSource.class)).append("(), ").append(infrastructure).append(");\n");
+    sb.append("    ctx.registerBean(\"transactionInterceptor\", ").append(interceptor).append(".class, () -> {\n");
+    sb.append("      ").append(interceptor).append(" interceptor = new ").append(interceptor).append("();\n");
+    sb.append("      interceptor.setTransactionAttributeSource(ctx.getBean(\"transactionAttributeSource\", ")
+        .append(source).append(".class));\n");
+    sb.append("      return interceptor;\n");
+    sb.append("    }, ").append(infrastructure).append(");\n");
+    sb.append("    ctx.registerBean(").append(name(TransactionManagementConfigUtils.class))
+        .append(".TRANSACTION_ADVISOR_BEAN_NAME, ").append(advisor).append(".class, () -> {\n");
+    sb.append("      ").append(advisor).append(" advisor = new ").append(advisor).append("();\n");
+    sb.append("      advisor.setTransactionAttributeSource(ctx.getBean(\"transactionAttributeSource\", ")
+        .append(source).append(".class));\n");
+    sb.append("      advisor.setAdvice(ctx.getBean(\"transactionInterceptor\", ").append(name(Advice.class)).append(".class));\n");
+    if (tx.order() != Ordered.LOWEST_PRECEDENCE) sb.append("      advisor.setOrder(").append(tx.order()).append(");\n");
+    sb.append("      return advisor;\n");
+    sb.append("    }, ").append(infrastructure).append(");\n");
+  }
+
+  private void appendRegistration(final StringBuilder sb, final BeanMethod bean) {
+    // @Bean의 destroyMethod 기본값은 close/shutdown 메서드를 찾아서 호출하는 "(inferred)"
+    List<String> customizers = new ArrayList<>();
+    String destroy = bean.annotation.destroyMethod();
+    customizers.add("bd.setDestroyMethodName(" + (destroy.equals(AbstractBeanDefinition.INFER_METHOD)
+        ? name(AbstractBeanDefinition.class) + ".INFER_METHOD" : "\"" + destroy + "\"") + ")");
+    if (!bean.annotation.initMethod().isEmpty()) {
+      customizers.add("bd.setInitMethodName(\"" + bean.annotation.initMethod() + "\")");
+    }
+    Lazy lazy = bean.method.getAnnotation(Lazy.class);
+    if (lazy != null && lazy.value()) customizers.add("bd.setLazyInit(true)");
+    if (bean.primary) customizers.add("bd.setPrimary(true)");
+    DependsOn dependsOn = bean.method.getAnnotation(DependsOn.class);
+    if (dependsOn != null) {
+      customizers.add("bd.setDependsOn(" + Arrays.stream(dependsOn.value())
+          .map(name -> "\"" + name + "\"").collect(Collectors.joining(", ")) + ")");
+    }
+
+    sb.append("    ctx.registerBean(\"").append(bean.name).append("\", ").append(name(bean.type))
+        .append(".class, beans::").append(bean.factoryName()).append(",\n");
+    if (customizers.size() == 1) {
+      sb.append("        bd -> ").append(customizers.get(0)).append(");\n");
+    } else {
+      sb.append("        bd -> {\n");
+      for (String customizer : customizers) sb.append("          ").append(customizer).append(";\n");
+      sb.append("        });\n");
+    }
+  }
+
+  private void appendOverride(final StringBuilder sb, final BeanMethod bean) {
+    int modifiers = bean.method.getModifiers();
+    String modifier = Modifier.isPublic(modifiers) ? "public " : Modifier.isProtected(modifiers) ? "protected " : "";
+    List<String> params = new ArrayList<>();
+    for (Parameter parameter : bean.method.getParameters()) {
+      params.add("final " + name(parameter.getType()) + " " + parameter.getName());
+    }
+    sb.append("\n    @Override\n");
+    sb.append("    ").append(modifier).append(name(bean.type)).append(" ").append(bean.method.getName())
+        .append("(").append(String.join(", ", params)).append(") {\n");
+    sb.append("      return ").append(getBean(bean.name, bean.type)).append(";\n");
+    sb.append("    }\n");
+  }
+
+  private void appendFactory(final StringBuilder sb, final BeanMethod bean) {
+    List<String> args = new ArrayList<>();
+    for (Parameter parameter : bean.method.getParameters()) {
+      Qualifier qualifier = parameter.getAnnotation(Qualifier.class);
+      Autowired autowired = parameter.getAnnotation(Autowired.class);
+      String dependency = resolve(parameter.getType(), qualifier != null ? qualifier.value() : null,
+          parameter.getName(), autowired == null || autowired.required(), bean.name + " parameter " + parameter.getName());
+      args.add(dependency == null ? "null" : getBean(dependency, parameter.getType()));
+    }
+    String call = (bean.isStatic ? name(configClass) : "super") + "." + bean.method.getName()
+        + "(" + String.join(", ", args) + ")";
+    List<String> injections = injectionsFor(bean);
+    boolean checked = Arrays.stream(bean.method.getExceptionTypes())
+        .anyMatch(e -> !RuntimeException.class.isAssignableFrom(e) && !Error.class.isAssignableFrom(e));
+
+    String type = name(bean.type);
+    sb.append("\n    private ").append(type).append(" ").append(bean.factoryName()).append("() {\n");
+    String indent = "      ";
+    if (checked) {
+      sb.append("      try {\n");
+      indent = "        ";
+    }
+    if (injections.isEmpty()) {
+      sb.append(indent).append("return ").append(call).append(";\n");
+    } else {
+      sb.append(indent).append(type).append(" bean = ").append(call).append(";\n");
+      for (String injection : injections) sb.append(indent).append(injection).append("\n");
+      sb.append(indent).append("return bean;\n");
+    }
+    if (checked) {
+      sb.append("      } catch (Exception e) {\n");
+      sb.append("        throw new ").append(name(BeanCreationException.class))
+          .append("(\"").append(bean.name).append("\", e.getMessage(), e);\n");
+      sb.append("      }\n");
+    }
+    sb.append("    }\n");
+  }
+
+  // 빈 타입의 @Autowired 필드와 메서드를 세터 호출로 바꿈. 필드는 같은 타입을 받는 public 세터가 있어야 함
+  private List<String> injectionsFor(final BeanMethod bean) {
+    Map<Method, String> injections = new LinkedHashMap<>();
+    List<Class<?>> hierarchy = new ArrayList<>();
+    for (Class<?> c = bean.type; c != null && c != Object.class; c = c.getSuperclass()) hierarchy.add(0, c);
+
+    for (Class<?> c : hierarchy) {
+      for (Field field : c.getDeclaredFields()) {
+        Autowired autowired = field.getAnnotation(Autowired.class);
+        if (autowired == null) continue;
+        Method setter = setterFor(field);
+        Qualifier qualifier = field.getAnnotation(Qualifier.class);
+        String dependency = resolve(field.getType(), qualifier != null ? qualifier.value() : null,
+            field.getName(), autowired.required(), bean.name + " field " + field.getName());
+        if (dependency != null) injections.put(setter, inject(setter, dependency));
+      }
+      List<Method> methods = new ArrayList<>(Arrays.asList(c.getDeclaredMethods()));
+      methods.sort(Comparator.comparing(Method::getName));
+      for (Method method : methods) {
+        Autowired autowired = method.getAnnotation(Autowired.class);
+        if (autowired == null || method.isBridge()) continue;
+        if (!Modifier.isPublic(method.getModifiers()) || method.getParameterCount() != 1) {
+          throw new IllegalStateException("@Autowired method must be a public single-argument method: " + method);
+        }
+        Parameter parameter = method.getParameters()[0];
+        Qualifier qualifier = method.getAnnotation(Qualifier.class);
+        if (qualifier == null) qualifier = parameter.getAnnotation(Qualifier.class);
+        String dependency = resolve(parameter.getType(), qualifier != null ? qualifier.value() : null,
+            propertyName(method), autowired.required(), bean.name + " method " + method.getName());
+        // 필드와 세터에 모두 @Autowired가 있으면 세터 쪽 설정으로 한 번만 주입
+        if (dependency != null) injections.put(method, inject(method, dependency));
+        else injections.remove(method);
+      }
+    }
+    return new ArrayList<>(injections.values());
+  }
+
+  private String inject(final Method setter, final String dependency) {
+    return "bean." + setter.getName() + "(" + getBean(dependency, setter.getParameterTypes()[0]) + ");";
+  }
+
+  private String getBean(final String beanName, final Class<?> type) {
+    return "ctx.getBean(\"" + beanName + "\", " + name(type) + ".class)";
+  }
+
+  // 다른 패키지의 타입은 import하고 간단한 이름을 사용. 간단한 이름이 겹치면 전체 이름 사용
+  private String name(final Class<?> type) {
+    if (type.isArray()) return name(type.getComponentType()) + "[]";
+    if (type.isPrimitive()) return type.getName();
+    Class<?> top = type;
+    while (top.getEnclosingClass() != null) top = top.getEnclosingClass();
+    String simple = top.getSimpleName();
+    if (!imports.containsKey(simple)) imports.put(simple, top);
+    if (imports.get(simple) != top) return type.getCanonicalName();
+    return type == top ? simple : simple + type.getCanonicalName().substring(top.getCanonicalName().length());
+  }
+
+  private boolean isImplicit(final Class<?> type) {
+    String pkg = type.getPackage().getName();
+    return pkg.equals("java.lang") || pkg.equals(packageName);
+  }
+
+  private static Method setterFor(final Field field) {
+    String name = "set" + Character.toUpperCase(field.getName().charAt(0)) + field.getName().substring(1);
+    try {
+      Method setter = field.getDeclaringClass().getMethod(name, field.getType());
+      if (setter.getReturnType() == void.class) return setter;
+    } catch (NoSuchMethodException e) {
+      // 아래에서 익셉션 발생
+    }
+    throw new IllegalStateException("@Autowired field needs a public setter " + name + "("
+        + field.getType().getSimpleName() + ") to be injected without reflection: " + field);
+  }
+
+  private static String propertyName(final Method setter) {
+    String name = setter.getName();
+    if (name.startsWith("set") && name.length() > 3) {
+      return Character.toLowerCase(name.charAt(3)) + name.substring(4);
+    }
+    return name;
+  }
+
+  // 스프링과 같은 순서로 후보를 좁힘: 타입 -> @Qualifier -> @Primary -> 이름
+  // 후보가 없고 필수가 아니면 null
+  private String resolve(final Class<?> type, final String qualifier, final String name,
+                         final boolean required, final String target) {
+    List<BeanMethod> candidates = beans.values().stream()
+        .filter(b -> type.isAssignableFrom(b.type))
+        .collect(Collectors.toList());
+    if (qualifier != null) {
+      candidates = candidates.stream()
+          .filter(b -> qualifier.equals(b.qualifier) || qualifier.equals(b.name))
+          .collect(Collectors.toList());
+    }
+    if (candidates.size() > 1) {
+      List<BeanMethod> primary = candidates.stream().filter(b -> b.primary).collect(Collectors.toList());
+      if (primary.size() == 1) candidates = primary;
+    }
+    if (candidates.size() > 1) {
+      List<BeanMethod> byName = candidates.stream().filter(b -> b.name.equals(name)).collect(Collectors.toList());
+      if (byName.size() == 1) candidates = byName;
+    }
+    if (candidates.size() == 1) return candidates.get(0).name;
+    if (candidates.isEmpty() && !required) return null;
+    throw new IllegalStateException("cannot resolve " + type.getName() + " for " + target + ": "
+        + (candidates.isEmpty() ? "no candidate"
+        : "candidates " + candidates.stream().map(b -> b.name).collect(Collectors.toList())));
+  }
+
+  private static class BeanMethod {
+
+    private final Method method;
+    private final Bean annotation;
+    private final String name;
+    private final Class<?> type;
+    private final String qualifier;
+    private final boolean primary;
+    private final boolean isStatic;
+
+    private BeanMethod(final Method method, final Bean annotation) {
+      int modifiers = method.getModifiers();
+      if (Modifier.isPrivate(modifiers) || Modifier.isFinal(modifiers)) {
+        throw new IllegalStateException("@Bean method must not be private or final: " + method);
+      }
+      if (method.getReturnType().isPrimitive()) {
+        throw new IllegalStateException("@Bean method must return an object: " + method);
+      }
+      this.method = method;
+      this.annotation = annotation;
+      this.name = annotation.name().length > 0 ? annotation.name()[0] : method.getName();
+      this.type = method.getReturnType();
+      Qualifier q = method.getAnnotation(Qualifier.class);
+      this.qualifier = q != null ? q.value() : null;
+      this.primary = method.isAnnotationPresent(Primary.class);
+      this.isStatic = Modifier.isStatic(modifiers);
+    }
+
+    private String factoryName() {
+      return "new" + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+  }
+
+}
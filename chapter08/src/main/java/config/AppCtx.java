@@ -1,22 +1,53 @@
 package config;
 
-import org.apache.tomcat.jdbc.pool.DataSource;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
+import password.PasswordHasher;
+import pool.AdaptivePoolSizer;
+import pool.MonitoredDataSource;
+import routing.ReplicaReadDataSource;
+import routing.ReplicaRoutingDataSource;
 import spring.*;
+import startup.LazyInitPostProcessor;
+import startup.PoolWarmer;
+import startup.StartupProfiler;
+
+import javax.sql.DataSource;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 
 @Configuration
 @EnableTransactionManagement
 public class AppCtx {
 
+  // -Dstartup.profile=true: 빈별 생성 시간을 출력
+  @Bean
+  public static StartupProfiler startupProfiler() {
+    return new StartupProfiler(Boolean.getBoolean("startup.profile"));
+  }
+
+  // -Dstartup.lazy=true: poolWarmer(와 그 의존 빈인 dataSource)만 바로 만들고 나머지는 처음 사용할 때 생성
+  @Bean
+  public static LazyInitPostProcessor lazyInitPostProcessor() {
+    return new LazyInitPostProcessor(Boolean.getBoolean("startup.lazy"), "poolWarmer");
+  }
+
   @Bean(destroyMethod = "close")
-  public DataSource dataSource() {
-    DataSource ds = new DataSource();
+  public MonitoredDataSource dataSource() {
+    return createDataSource("jdbc:postgresql://satao.db.elephantsql.com:5432/voipmttw");
+  }
+
+  private static MonitoredDataSource createDataSource(final String url) {
+    MonitoredDataSource ds = new MonitoredDataSource();
     ds.setDriverClassName("org.postgresql.Driver");
-    ds.setUrl("jdbc:postgresql://satao.db.elephantsql.com:5432/voipmttw");
+    ds.setUrl(url);
     ds.setUsername("voipmttw");
     ds.setPassword("9U_pMlo8JwC-4kkYy83YFip30jEhS1Xi");
     ds.setInitialSize(2);
@@ -25,33 +56,97 @@ public class AppCtx {
     ds.setTestWhileIdle(true); // 유휴 커넥션 검사
     ds.setMinEvictableIdleTimeMillis(1000 * 60 * 3); // 최소 유휴 시간 3분
     ds.setTimeBetweenEvictionRunsMillis(1000 * 10);  // 10초 주기로 검사
+    // 커넥션별로 PreparedStatement를 재사용해서 자주 쓰는 쿼리를 다시 준비하지 않도록 함
+    ds.setJdbcInterceptors("StatementCache(prepared=true,callable=false,max=50)");
+    ds.setLeakThreshold(Duration.ofSeconds(30)); // 30초 넘게 반환하지 않은 커넥션을 경고
+    // -Dpool.adaptive=true: 커넥션 대기 시간을 보고 2 ~ 20개 사이에서 maxActive 조절
+    if (Boolean.getBoolean("pool.adaptive")) {
+      ds.setAdaptiveSizing(new AdaptivePoolSizer(2, 20, Duration.ofMillis(5)));
+    }
     return ds;
   }
 
+  // -Ddb.replicas=URL1,URL2: 읽기 전용 트랜잭션과 트랜잭션 밖의 조회를 복제 DB로 보냄
+  // 지정하지 않으면 모두 dataSource로 보냄
+  @Bean(destroyMethod = "close")
+  public ReplicaRoutingDataSource routingDataSource() {
+    List<DataSource> replicas = new ArrayList<>();
+    for (String url : System.getProperty("db.replicas", "").split(",")) {
+      if (!url.trim().isEmpty()) replicas.add(createDataSource(url.trim()));
+    }
+    return new ReplicaRoutingDataSource(dataSource(), replicas);
+  }
+
+  // 트랜잭션의 읽기 전용 여부가 정해진 뒤(첫 쿼리를 실행할 때) routingDataSource에서 커넥션을 가져옴
+  @Bean
+  public LazyConnectionDataSourceProxy transactionalDataSource() {
+    LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy();
+    proxy.setTargetDataSource(routingDataSource());
+    // 기본값을 알아내려고 시작할 때 커넥션을 얻지 않도록 PostgreSQL 기본값을 지정
+    proxy.setDefaultAutoCommit(true);
+    proxy.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+    return proxy;
+  }
+
+  @Bean
+  public PoolWarmer poolWarmer() {
+    return new PoolWarmer(dataSource(), Boolean.getBoolean("startup.profile"));
+  }
+
   @Bean
   public PlatformTransactionManager transactionManager() {
     DataSourceTransactionManager tm = new DataSourceTransactionManager();
-    tm.setDataSource(dataSource());
+    tm.setDataSource(transactionalDataSource());
     return tm;
   }
 
-  @Bean
+  @Bean(destroyMethod = "close")
   public MemberDao memberDao() {
-    return new MemberDao(dataSource());
+    CachingMemberDao memberDao = new CachingMemberDao(transactionalDataSource(), 10_000, Duration.ofMinutes(10));
+    // 목록/개수 조회만 복제 DB로 감. selectByEmail은 캐시에 넣으므로 primary에서 읽음
+    memberDao.setReadDataSource(new ReplicaReadDataSource(routingDataSource(), transactionalDataSource()));
+    // -Dmember.versioned=true: VERSION 컬럼으로 낙관적 잠금 (컬럼을 먼저 추가해야 함)
+    memberDao.setVersioned(Boolean.getBoolean("member.versioned"));
+    memberDao.setNegativeTtl(Duration.ofSeconds(30));
+    memberDao.setCountResyncInterval(Duration.ofMinutes(1));
+    return memberDao;
+  }
+
+  // -Dpassword.hash.iterations: 비밀번호 해시 반복 횟수를 직접 지정
+  // 지정하지 않으면 -Dpassword.hash.file(기본 password-hash-iterations)에 저장한 값을 사용
+  // 파일이 없으면 기본값(100000)으로 시작하고, 해시 한 번이 -Dpassword.hash.target(밀리초, 기본 50)만큼 걸리도록
+  // 백그라운드에서 한 번 측정해서 파일에 저장. 서버마다 값이 달라지지 않도록 측정한 파일을 함께 배포
+  @Bean(destroyMethod = "close")
+  public PasswordHasher passwordHasher() {
+    Integer iterations = Integer.getInteger("password.hash.iterations");
+    if (iterations != null) return new PasswordHasher(iterations);
+    return PasswordHasher.calibratedOnce(Paths.get(System.getProperty("password.hash.file", "password-hash-iterations")),
+        Duration.ofMillis(Long.getLong("password.hash.target", 50)));
   }
 
   @Bean
   public MemberRegisterService memberRegisterService() {
-    return new MemberRegisterService(memberDao());
+    MemberRegisterService regSvc = new MemberRegisterService(memberDao());
+    regSvc.setPasswordHasher(passwordHasher());
+    return regSvc;
   }
 
   @Bean
   public ChangePasswordService changePasswordService() {
     ChangePasswordService pwdSvc = new ChangePasswordService();
     pwdSvc.setMemberDao(memberDao());
+    pwdSvc.setPasswordHasher(passwordHasher());
     return pwdSvc;
   }
 
+  @Bean
+  public AuthService authService() {
+    AuthService authService = new AuthService();
+    authService.setMemberDao(memberDao());
+    authService.setPasswordHasher(passwordHasher());
+    return authService;
+  }
+
   @Bean
   public MemberPrinter memberPrinter() {
     return new MemberPrinter();
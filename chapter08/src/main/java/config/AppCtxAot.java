@@ -0,0 +1,237 @@
+package config;
+
+import org.aopalliance.aop.Advice;
+import org.springframework.aop.config.AopConfigUtils;
+import org.springframework.aop.framework.autoproxy.InfrastructureAdvisorAutoProxyCreator;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.config.TransactionManagementConfigUtils;
+import org.springframework.transaction.interceptor.BeanFactoryTransactionAttributeSourceAdvisor;
+import org.springframework.transaction.interceptor.TransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+import password.PasswordHasher;
+import pool.MonitoredDataSource;
+import routing.ReplicaRoutingDataSource;
+import spring.AuthService;
+import spring.ChangePasswordService;
+import spring.MemberDao;
+import spring.MemberInfoPrinter;
+import spring.MemberListPrinter;
+import spring.MemberPrinter;
+import spring.MemberRegisterService;
+import startup.LazyInitPostProcessor;
+import startup.PoolWarmer;
+import startup.StartupProfiler;
+
+// AotGenerator가 config.AppCtx로부터 생성한 코드
+// 직접 고치지 말고 설정 클래스를 바꾼 뒤 다시 생성: java aot.AotGenerator config.AppCtx <소스 루트 디렉터리>
+public final class AppCtxAot {
+
+  private AppCtxAot() {
+  }
+
+  public static GenericApplicationContext create() {
+    GenericApplicationContext ctx = new GenericApplicationContext();
+    registerBeans(ctx);
+    ctx.refresh();
+    return ctx;
+  }
+
+  public static void registerBeans(final GenericApplicationContext ctx) {
+    Beans beans = new Beans(ctx);
+    // @EnableTransactionManagement: @Transactional 빈을 프록시로 감싸는 빈
+    ctx.registerBean(AopConfigUtils.AUTO_PROXY_CREATOR_BEAN_NAME, InfrastructureAdvisorAutoProxyCreator.class, () -> {
+      InfrastructureAdvisorAutoProxyCreator creator = new InfrastructureAdvisorAutoProxyCreator();
+      creator.setOrder(Ordered.HIGHEST_PRECEDENCE);
+      return creator;
+    }, bd -> bd.setRole(BeanDefinition.ROLE_INFRASTRUCTURE));
+    ctx.registerBean("transactionAttributeSource", TransactionAttributeSource.class,
+        () -> new AnnotationTransactionAttributeSource(), bd -> bd.setRole(BeanDefinition.ROLE_INFRASTRUCTURE));
+    ctx.registerBean("transactionInterceptor", TransactionInterceptor.class, () -> {
+      TransactionInterceptor interceptor = new TransactionInterceptor();
+      interceptor.setTransactionAttributeSource(ctx.getBean("transactionAttributeSource", TransactionAttributeSource.class));
+      return interceptor;
+    }, bd -> bd.setRole(BeanDefinition.ROLE_INFRASTRUCTURE));
+    ctx.registerBean(TransactionManagementConfigUtils.TRANSACTION_ADVISOR_BEAN_NAME, BeanFactoryTransactionAttributeSourceAdvisor.class, () -> {
+      BeanFactoryTransactionAttributeSourceAdvisor advisor = new BeanFactoryTransactionAttributeSourceAdvisor();
+      advisor.setTransactionAttributeSource(ctx.getBean("transactionAttributeSource", TransactionAttributeSource.class));
+      advisor.setAdvice(ctx.getBean("transactionInterceptor", Advice.class));
+      return advisor;
+    }, bd -> bd.setRole(BeanDefinition.ROLE_INFRASTRUCTURE));
+    ctx.registerBean("authService", AuthService.class, beans::newAuthService,
+        bd -> bd.setDestroyMethodName(AbstractBeanDefinition.INFER_METHOD));
+    ctx.registerBean("changePasswordService", ChangePasswordService.class, beans::newChangePasswordService,
+        bd -> bd.setDestroyMethodName(AbstractBeanDefinition.INFER_METHOD));
+    ctx.registerBean("dataSource", MonitoredDataSource.class, beans::newDataSource,
+        bd -> bd.setDestroyMethodName("close"));
+    ctx.registerBean("infoPrinter", MemberInfoPrinter.class, beans::newInfoPrinter,
+        bd -> bd.setDestroyMethodName(AbstractBeanDefinition.INFER_METHOD));
+    ctx.registerBean("lazyInitPostProcessor", LazyInitPostProcessor.class, beans::newLazyInitPostProcessor,
+        bd -> bd.setDestroyMethodName(AbstractBeanDefinition.INFER_METHOD));
+    ctx.registerBean("listPrinter", MemberListPrinter.class, beans::newListPrinter,
+        bd -> bd.setDestroyMethodName(AbstractBeanDefinition.INFER_METHOD));
+    ctx.registerBean("memberDao", MemberDao.class, beans::newMemberDao,
+        bd -> bd.setDestroyMethodName("close"));
+    ctx.registerBean("memberPrinter", MemberPrinter.class, beans::newMemberPrinter,
+        bd -> bd.setDestroyMethodName(AbstractBeanDefinition.INFER_METHOD));
+    ctx.registerBean("memberRegisterService", MemberRegisterService.class, beans::newMemberRegisterService,
+        bd -> bd.setDestroyMethodName(AbstractBeanDefinition.INFER_METHOD));
+    ctx.registerBean("passwordHasher", PasswordHasher.class, beans::newPasswordHasher,
+        bd -> bd.setDestroyMethodName("close"));
+    ctx.registerBean("poolWarmer", PoolWarmer.class, beans::newPoolWarmer,
+        bd -> bd.setDestroyMethodName(AbstractBeanDefinition.INFER_METHOD));
+    ctx.registerBean("routingDataSource", ReplicaRoutingDataSource.class, beans::newRoutingDataSource,
+        bd -> bd.setDestroyMethodName("close"));
+    ctx.registerBean("startupProfiler", StartupProfiler.class, beans::newStartupProfiler,
+        bd -> bd.setDestroyMethodName(AbstractBeanDefinition.INFER_METHOD));
+    ctx.registerBean("transactionManager", PlatformTransactionManager.class, beans::newTransactionManager,
+        bd -> bd.setDestroyMethodName(AbstractBeanDefinition.INFER_METHOD));
+    ctx.registerBean("transactionalDataSource", LazyConnectionDataSourceProxy.class, beans::newTransactionalDataSource,
+        bd -> bd.setDestroyMethodName(AbstractBeanDefinition.INFER_METHOD));
+  }
+
+  // @Bean 메서드 사이의 호출을 컨테이너의 싱글톤으로 연결 (CGLIB으로 확장한 설정 클래스가 하던 일)
+  private static class Beans extends AppCtx {
+
+    private final GenericApplicationContext ctx;
+
+    private Beans(final GenericApplicationContext ctx) {
+      this.ctx = ctx;
+    }
+
+    @Override
+    public AuthService authService() {
+      return ctx.getBean("authService", AuthService.class);
+    }
+
+    @Override
+    public ChangePasswordService changePasswordService() {
+      return ctx.getBean("changePasswordService", ChangePasswordService.class);
+    }
+
+    @Override
+    public MonitoredDataSource dataSource() {
+      return ctx.getBean("dataSource", MonitoredDataSource.class);
+    }
+
+    @Override
+    public MemberInfoPrinter infoPrinter() {
+      return ctx.getBean("infoPrinter", MemberInfoPrinter.class);
+    }
+
+    @Override
+    public MemberListPrinter listPrinter() {
+      return ctx.getBean("listPrinter", MemberListPrinter.class);
+    }
+
+    @Override
+    public MemberDao memberDao() {
+      return ctx.getBean("memberDao", MemberDao.class);
+    }
+
+    @Override
+    public MemberPrinter memberPrinter() {
+      return ctx.getBean("memberPrinter", MemberPrinter.class);
+    }
+
+    @Override
+    public MemberRegisterService memberRegisterService() {
+      return ctx.getBean("memberRegisterService", MemberRegisterService.class);
+    }
+
+    @Override
+    public PasswordHasher passwordHasher() {
+      return ctx.getBean("passwordHasher", PasswordHasher.class);
+    }
+
+    @Override
+    public PoolWarmer poolWarmer() {
+      return ctx.getBean("poolWarmer", PoolWarmer.class);
+    }
+
+    @Override
+    public ReplicaRoutingDataSource routingDataSource() {
+      return ctx.getBean("routingDataSource", ReplicaRoutingDataSource.class);
+    }
+
+    @Override
+    public PlatformTransactionManager transactionManager() {
+      return ctx.getBean("transactionManager", PlatformTransactionManager.class);
+    }
+
+    @Override
+    public LazyConnectionDataSourceProxy transactionalDataSource() {
+      return ctx.getBean("transactionalDataSource", LazyConnectionDataSourceProxy.class);
+    }
+
+    private AuthService newAuthService() {
+      return super.authService();
+    }
+
+    private ChangePasswordService newChangePasswordService() {
+      return super.changePasswordService();
+    }
+
+    private MonitoredDataSource newDataSource() {
+      return super.dataSource();
+    }
+
+    private MemberInfoPrinter newInfoPrinter() {
+      MemberInfoPrinter bean = super.infoPrinter();
+      bean.setMemberDao(ctx.getBean("memberDao", MemberDao.class));
+      bean.setPrinter(ctx.getBean("memberPrinter", MemberPrinter.class));
+      return bean;
+    }
+
+    private LazyInitPostProcessor newLazyInitPostProcessor() {
+      return AppCtx.lazyInitPostProcessor();
+    }
+
+    private MemberListPrinter newListPrinter() {
+      return super.listPrinter();
+    }
+
+    private MemberDao newMemberDao() {
+      return super.memberDao();
+    }
+
+    private MemberPrinter newMemberPrinter() {
+      return super.memberPrinter();
+    }
+
+    private MemberRegisterService newMemberRegisterService() {
+      return super.memberRegisterService();
+    }
+
+    private PasswordHasher newPasswordHasher() {
+      return super.passwordHasher();
+    }
+
+    private PoolWarmer newPoolWarmer() {
+      return super.poolWarmer();
+    }
+
+    private ReplicaRoutingDataSource newRoutingDataSource() {
+      return super.routingDataSource();
+    }
+
+    private StartupProfiler newStartupProfiler() {
+      return AppCtx.startupProfiler();
+    }
+
+    private PlatformTransactionManager newTransactionManager() {
+      return super.transactionManager();
+    }
+
+    private LazyConnectionDataSourceProxy newTransactionalDataSource() {
+      return super.transactionalDataSource();
+    }
+
+  }
+
+}
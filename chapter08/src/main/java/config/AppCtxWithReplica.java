@@ -0,0 +1,99 @@
+package config;
+
+import org.apache.tomcat.jdbc.pool.DataSource;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import routing.ReplicaReadDataSource;
+import routing.ReplicaRoutingDataSource;
+import spring.*;
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.Collections;
+
+// 읽기/쓰기 분리 확인용 설정 (MainForReadWriteRouting)
+// 인메모리 H2 두 개를 primary와 복제 DB로 사용. 복제 DB는 미리 만들어 두어야 함(IFEXISTS)
+@Configuration
+@EnableTransactionManagement
+public class AppCtxWithReplica {
+
+  public static final String PRIMARY_URL =
+      "jdbc:h2:mem:primary;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+  public static final String REPLICA_URL =
+      "jdbc:h2:mem:replica;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;IFEXISTS=TRUE";
+
+  @Bean(destroyMethod = "close")
+  public DataSource primaryDataSource() {
+    return createDataSource(PRIMARY_URL);
+  }
+
+  @Bean(destroyMethod = "close")
+  public ReplicaRoutingDataSource routingDataSource() {
+    ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(
+        primaryDataSource(), Collections.singletonList(createDataSource(REPLICA_URL)));
+    routing.setHealthCheckInterval(Duration.ofMillis(500));
+    routing.setValidationTimeoutSeconds(1);
+    return routing;
+  }
+
+  private static DataSource createDataSource(final String url) {
+    DataSource ds = new DataSource();
+    ds.setDriverClassName("org.h2.Driver");
+    ds.setUrl(url);
+    ds.setUsername("sa");
+    ds.setPassword("");
+    ds.setInitialSize(1);
+    ds.setMaxActive(4);
+    ds.setMaxIdle(4);
+    ds.setMinIdle(1);
+    // 복제 DB가 내려가면 풀에 남은 커넥션도 쓸 수 없으므로 빌릴 때 검사
+    ds.setTestOnBorrow(true);
+    ds.setValidationQuery("select 1");
+    return ds;
+  }
+
+  @Bean
+  public LazyConnectionDataSourceProxy transactionalDataSource() {
+    LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy();
+    proxy.setTargetDataSource(routingDataSource());
+    proxy.setDefaultAutoCommit(true);
+    proxy.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+    return proxy;
+  }
+
+  @Bean
+  public PlatformTransactionManager transactionManager() {
+    DataSourceTransactionManager tm = new DataSourceTransactionManager();
+    tm.setDataSource(transactionalDataSource());
+    return tm;
+  }
+
+  // 어느 DB로 가는지 보기 위해 캐시 없는 MemberDao 사용
+  @Bean(destroyMethod = "close")
+  public MemberDao memberDao() {
+    MemberDao memberDao = new MemberDao(transactionalDataSource());
+    memberDao.setUpsertSupported(false);
+    memberDao.setReadDataSource(new ReplicaReadDataSource(routingDataSource(), transactionalDataSource()));
+    return memberDao;
+  }
+
+  @Bean
+  public MemberRegisterService memberRegSvc() {
+    return new MemberRegisterService(memberDao());
+  }
+
+  @Bean
+  public MemberPrinter memberPrinter() {
+    return new MemberPrinter();
+  }
+
+  @Bean
+  public MemberListPrinter listPrinter() {
+    return new MemberListPrinter(memberDao(), memberPrinter());
+  }
+
+}
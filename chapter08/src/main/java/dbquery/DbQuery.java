@@ -33,4 +33,16 @@ public class DbQuery {
     }
   }
 
+  // 테이블 전체를 읽지 않고 PostgreSQL 통계에서 행 수 추정치를 구함 (통계가 없으면 -1)
+  public long estimatedCount() {
+    try (Connection conn = dataSource.getConnection();
+         PreparedStatement ps = conn.prepareStatement(
+             "select reltuples::bigint from pg_class where oid = 'member'::regclass");
+         ResultSet rs = ps.executeQuery()) {
+      return rs.next() ? rs.getLong(1) : -1;
+    } catch (SQLException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
 }
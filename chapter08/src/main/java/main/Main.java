@@ -1,7 +1,10 @@
 package main;
 
 import config.AppCtx;
+import config.AppCtxAot;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+import pool.MonitoredDataSource;
 import spring.*;
 
 import java.io.BufferedReader;
@@ -10,10 +13,12 @@ import java.io.InputStreamReader;
 
 public class Main {
 
-  private static AnnotationConfigApplicationContext ctx = null;
+  private static GenericApplicationContext ctx = null;
 
   public static void main(String... args) throws IOException {
-    ctx = new AnnotationConfigApplicationContext(AppCtx.class);
+    // -Dcontext.aot=true: AotGenerator로 생성한 AppCtxAot로 컨텍스트 생성
+    ctx = Boolean.getBoolean("context.aot")
+        ? AppCtxAot.create() : new AnnotationConfigApplicationContext(AppCtx.class);
 
     BufferedReader reader = new BufferedReader(new InputStreamReader(System.in));
     while (true) {
@@ -31,6 +36,10 @@ public class Main {
         processListCommand();
       } else if (command.startsWith("info ")) {
         processInfoCommand(command.split(" "));
+      } else if (command.startsWith("login ")) {
+        processLoginCommand(command.split(" "));
+      } else if (command.equals("pool")) {
+        processPoolCommand();
       } else {
         printHelp();
       }
@@ -80,6 +89,20 @@ public class Main {
     }
   }
 
+  private static void processLoginCommand(final String... arg) {
+    if (arg.length != 3) {
+      printHelp();
+      return;
+    }
+    AuthService authService = ctx.getBean(AuthService.class);
+    try {
+      AuthInfo authInfo = authService.authenticate(arg[1], arg[2]);
+      System.out.println(authInfo.getName() + "님 로그인했습니다.\n");
+    } catch (WrongIdPasswordException e) {
+      System.out.println("이메일과 암호가 일치하지 않습니다.\n");
+    }
+  }
+
   private static void processListCommand() {
     MemberListPrinter listPrinter =
         ctx.getBean("listPrinter", MemberListPrinter.class);
@@ -96,6 +119,11 @@ public class Main {
     infoPrinter.printMemberInfo(arg[1]);
   }
 
+  private static void processPoolCommand() {
+    System.out.println(ctx.getBean("dataSource", MonitoredDataSource.class).getStats());
+    System.out.println();
+  }
+
   private static void printHelp() {
     System.out.println();
     System.out.println("잘못된 명령입니다. 아래 명령어 사용법을 확인하세요.");
@@ -103,7 +131,9 @@ public class Main {
     System.out.println("new 이메일 이름 암호 암호확인");
     System.out.println("change 이메일 현재비번 변경비번");
     System.out.println("info 이메일");
+    System.out.println("login 이메일 암호");
     System.out.println("list");
+    System.out.println("pool");
     System.out.println("exit");
 
     System.out.println();
@@ -2,6 +2,7 @@ package main;
 
 import config.AppCtx;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import spring.CountMode;
 import spring.Member;
 import spring.MemberDao;
 
@@ -22,13 +23,14 @@ public class MainForMemberDao {
     selectAll();
     updateMember();
     insertMember();
+    System.out.println(memberDao);
 
     ctx.close();
   }
 
   private static void selectAll() {
     System.out.println("----- selectAll");
-    System.out.println("전체 데이터: " + memberDao.count());
+    System.out.println("전체 데이터: " + memberDao.count(CountMode.CACHED));
     for (Member m : memberDao.selectAll()) {
       System.out.println(m);
     }
@@ -0,0 +1,70 @@
+package main;
+
+import org.apache.tomcat.jdbc.pool.DataSource;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import spring.ChangePasswordService;
+import spring.Member;
+import spring.MemberDao;
+import spring.MemberNotFoundException;
+import spring.WrongIdPasswordException;
+
+import java.time.LocalDateTime;
+
+// 조건부 update로 비밀번호 변경과 VERSION 컬럼 낙관적 잠금 확인 (인메모리 H2 사용, 원격 DB 불필요)
+public class MainForOptimisticLock {
+
+  public static void main(String... args) {
+    DataSource ds = new DataSource();
+    ds.setDriverClassName("org.h2.Driver");
+    ds.setUrl("jdbc:h2:mem:optimisticLock;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+    ds.setUsername("sa");
+    ds.setPassword("");
+    JdbcTemplate jdbcTemplate = new JdbcTemplate(ds);
+    jdbcTemplate.execute("create table member ("
+        + "id serial primary key, "
+        + "email varchar(255) unique, "
+        + "password varchar(100), "
+        + "name varchar(100), "
+        + "regdate timestamp)");
+    jdbcTemplate.execute("alter table member add column version integer not null default 0");
+
+    MemberDao memberDao = new MemberDao(ds);
+    memberDao.setVersioned(true);
+    memberDao.insert(new Member("madvirus@madvirus.net", "1234", "최범균", LocalDateTime.now()));
+
+    System.out.println("== 비밀번호 변경 ==");
+    ChangePasswordService pwdSvc = new ChangePasswordService();
+    pwdSvc.setMemberDao(memberDao);
+    pwdSvc.changePassword("madvirus@madvirus.net", "1234", "5678");
+    System.out.println("변경: " + memberDao.selectByEmail("madvirus@madvirus.net").getPassword());
+    try {
+      pwdSvc.changePassword("madvirus@madvirus.net", "1234", "0000");
+    } catch (WrongIdPasswordException e) {
+      System.out.println("비밀번호 틀림");
+    }
+    try {
+      pwdSvc.changePassword("nobody@madvirus.net", "1234", "0000");
+    } catch (MemberNotFoundException e) {
+      System.out.println("회원 없음");
+    }
+
+    System.out.println("\n== 같은 회원을 동시에 수정 ==");
+    Member first = memberDao.selectByEmail("madvirus@madvirus.net");
+    Member second = memberDao.selectByEmail("madvirus@madvirus.net");
+    first.changePassword("5678", "first");
+    memberDao.update(first);
+    System.out.println("첫 번째 수정: version=" + first.getVersion());
+    second.changePassword("5678", "second");
+    try {
+      memberDao.update(second);
+    } catch (OptimisticLockingFailureException e) {
+      System.out.println("두 번째 수정 실패: " + e.getMessage());
+    }
+    System.out.println("최종: " + memberDao.selectByEmail("madvirus@madvirus.net").getPassword());
+
+    memberDao.close();
+    ds.close();
+  }
+
+}
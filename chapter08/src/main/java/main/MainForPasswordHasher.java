@@ -0,0 +1,100 @@
+package main;
+
+import org.apache.tomcat.jdbc.pool.DataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import password.PasswordHasher;
+import spring.AuthService;
+import spring.ChangePasswordService;
+import spring.MemberDao;
+import spring.MemberRegisterService;
+import spring.RegisterRequest;
+import spring.WrongIdPasswordException;
+
+import java.time.Duration;
+
+// PasswordHasher 동작 확인 (인메모리 H2 사용, 원격 DB 불필요)
+// 1. 해시 한 번이 목표 시간(args[0], 밀리초, 기본 50)만큼 걸리는 반복 횟수를 측정
+//    AppCtx는 처음 시작할 때 한 번 측정해서 파일에 저장하므로, 이 값은 파일 대신 직접 지정할 때(-Dpassword.hash.iterations) 사용
+// 2. 가입/비밀번호 변경은 해시로 저장
+// 3. 평문으로 저장되어 있던 회원과 반복 횟수가 적은 해시는 로그인할 때 다시 해시
+public class MainForPasswordHasher {
+
+  public static void main(String... args) {
+    DataSource ds = new DataSource();
+    ds.setDriverClassName("org.h2.Driver");
+    ds.setUrl("jdbc:h2:mem:passwordHasher;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+    ds.setUsername("sa");
+    ds.setPassword("");
+    JdbcTemplate jdbcTemplate = new JdbcTemplate(ds);
+    jdbcTemplate.execute("create table member ("
+        + "id serial primary key, "
+        + "email varchar(255) unique, "
+        + "password varchar(100), "
+        + "name varchar(100), "
+        + "regdate timestamp)");
+    // 해시를 쓰기 전에 평문으로 저장한 회원
+    jdbcTemplate.update("insert into member (email, password, name, regdate) "
+        + "values ('daewon@wisoft.io', '1234', 'pdw', now())");
+
+    long targetMillis = args.length > 0 ? Long.parseLong(args[0]) : 50;
+    PasswordHasher hasher = PasswordHasher.calibrated(Duration.ofMillis(targetMillis));
+    System.out.printf("반복 횟수: %d (-Dpassword.hash.iterations=%d)\n", hasher.getIterations(), hasher.getIterations());
+
+    MemberDao memberDao = new MemberDao(ds);
+    memberDao.setUpsertSupported(false);
+    MemberRegisterService regSvc = new MemberRegisterService(memberDao);
+    regSvc.setPasswordHasher(hasher);
+    ChangePasswordService pwdSvc = new ChangePasswordService();
+    pwdSvc.setMemberDao(memberDao);
+    pwdSvc.setPasswordHasher(hasher);
+    AuthService authService = new AuthService();
+    authService.setMemberDao(memberDao);
+    authService.setPasswordHasher(hasher);
+
+    System.out.println("\n== 가입 ==");
+    RegisterRequest req = new RegisterRequest();
+    req.setEmail("madvirus@madvirus.net");
+    req.setName("최범균");
+    req.setPassword("1234");
+    req.setConfirmPassword("1234");
+    regSvc.regist(req);
+    printPassword(memberDao, "madvirus@madvirus.net");
+
+    System.out.println("\n== 비밀번호 변경 ==");
+    pwdSvc.changePassword("madvirus@madvirus.net", "1234", "5678");
+    printPassword(memberDao, "madvirus@madvirus.net");
+    login(authService, "madvirus@madvirus.net", "1234");
+    login(authService, "madvirus@madvirus.net", "5678");
+    login(authService, "nobody@madvirus.net", "5678");
+
+    System.out.println("\n== 평문으로 저장된 회원 로그인 ==");
+    printPassword(memberDao, "daewon@wisoft.io");
+    login(authService, "daewon@wisoft.io", "1234");
+    printPassword(memberDao, "daewon@wisoft.io");
+
+    System.out.println("\n== 반복 횟수를 늘린 뒤 로그인 ==");
+    hasher.setIterations(hasher.getIterations() * 2);
+    login(authService, "madvirus@madvirus.net", "5678");
+    printPassword(memberDao, "madvirus@madvirus.net");
+
+    hasher.close();
+    memberDao.close();
+    ds.close();
+  }
+
+  private static void login(final AuthService authService, final String email, final String password) {
+    long start = System.nanoTime();
+    try {
+      authService.authenticate(email, password);
+      System.out.print("로그인 성공: " + email);
+    } catch (WrongIdPasswordException e) {
+      System.out.print("로그인 실패: " + email);
+    }
+    System.out.printf(" (%dms)\n", (System.nanoTime() - start) / 1_000_000);
+  }
+
+  private static void printPassword(final MemberDao memberDao, final String email) {
+    System.out.println("저장된 값: " + memberDao.selectByEmail(email).getPassword());
+  }
+
+}
@@ -0,0 +1,72 @@
+package main;
+
+import pool.AdaptivePoolSizer;
+import pool.MonitoredDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// MonitoredDataSource 동작 확인 (인메모리 H2 사용, 원격 DB 불필요)
+// 1. 스레드 16개가 커넥션을 5ms씩 사용 -> 대기 시간이 길어서 maxActive가 2에서 늘어남
+// 2. 커넥션 하나를 반환하지 않음 -> 누수 의심 경고
+// 3. 스레드 1개만 사용 -> 대기가 없어서 maxActive가 천천히 줄어듦
+public class MainForPoolMonitor {
+
+  public static void main(String... args) throws Exception {
+    MonitoredDataSource ds = new MonitoredDataSource();
+    ds.setDriverClassName("org.h2.Driver");
+    ds.setUrl("jdbc:h2:mem:poolMonitor;DB_CLOSE_DELAY=-1");
+    ds.setUsername("sa");
+    ds.setPassword("");
+    ds.setInitialSize(2);
+    ds.setMaxActive(2);
+    ds.setMaxIdle(2);
+    ds.setMinIdle(2);
+    ds.setMonitorInterval(Duration.ofMillis(500));
+    ds.setLeakThreshold(Duration.ofSeconds(2));
+    ds.setAdaptiveSizing(new AdaptivePoolSizer(2, 16, Duration.ofMillis(2), 4));
+
+    System.out.println("== 스레드 16개 ==");
+    runLoad(ds, 16, 4);
+    System.out.println(ds.getStats());
+
+    System.out.println("\n== 커넥션 누수 ==");
+    Connection leaked = ds.getConnection();
+    TimeUnit.SECONDS.sleep(3);
+    leaked.close();
+
+    System.out.println("\n== 스레드 1개 ==");
+    runLoad(ds, 1, 6);
+    System.out.println(ds.getStats());
+    ds.close();
+  }
+
+  private static void runLoad(final MonitoredDataSource ds, final int threads, final int seconds)
+      throws InterruptedException {
+    long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+    List<Thread> workers = new ArrayList<>();
+    for (int i = 0; i < threads; i++) {
+      Thread worker = new Thread(() -> {
+        while (System.nanoTime() < end) {
+          try (Connection con = ds.getConnection(); Statement stmt = con.createStatement()) {
+            stmt.execute("select 1");
+            TimeUnit.MILLISECONDS.sleep(5); // 쿼리 실행 시간 대신
+          } catch (SQLException e) {
+            System.err.println(e.getMessage());
+          } catch (InterruptedException e) {
+            return;
+          }
+        }
+      });
+      workers.add(worker);
+      worker.start();
+    }
+    for (Thread worker : workers) worker.join();
+  }
+
+}
@@ -0,0 +1,91 @@
+package main;
+
+import config.AppCtxWithReplica;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import routing.ReplicaRoutingDataSource;
+import spring.MemberDao;
+import spring.MemberListPrinter;
+import spring.MemberRegisterService;
+import spring.RegisterRequest;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+// ReplicaRoutingDataSource 동작 확인 (인메모리 H2 두 개 사용, 원격 DB 불필요)
+// 실제 복제는 하지 않으므로 primary에 쓴 데이터를 복제 DB에 직접 넣어서 흉내 냄
+// 1. 트랜잭션 밖의 삽입은 primary, 조회는 복제 DB
+// 2. 읽기 전용 트랜잭션은 복제 DB, 일반 트랜잭션은 (조회를 포함해서) primary
+// 3. 복제 DB를 내리면 상태 검사에서 제외되고 조회가 primary로 감
+public class MainForReadWriteRouting {
+
+  private static final String CREATE_MEMBER = "create table member ("
+      + "id serial primary key, "
+      + "email varchar(255) unique, "
+      + "password varchar(100), "
+      + "name varchar(100), "
+      + "regdate timestamp)";
+
+  public static void main(String... args) throws Exception {
+    // 복제 DB는 DB_CLOSE_DELAY 없이 이 커넥션으로 유지하고, 나중에 이 커넥션으로 내림
+    Connection replicaDb = DriverManager.getConnection(
+        AppCtxWithReplica.REPLICA_URL.replace("IFEXISTS=TRUE", "IFEXISTS=FALSE"), "sa", "");
+    try (Connection primaryDb = DriverManager.getConnection(AppCtxWithReplica.PRIMARY_URL, "sa", "")) {
+      execute(primaryDb, CREATE_MEMBER);
+    }
+    execute(replicaDb, CREATE_MEMBER);
+
+    AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext(AppCtxWithReplica.class);
+    ReplicaRoutingDataSource routing = ctx.getBean(ReplicaRoutingDataSource.class);
+    MemberDao memberDao = ctx.getBean(MemberDao.class);
+    MemberRegisterService regSvc = ctx.getBean(MemberRegisterService.class);
+    MemberListPrinter listPrinter = ctx.getBean(MemberListPrinter.class);
+
+    System.out.println("== 트랜잭션 밖: 가입(삽입) ==");
+    RegisterRequest req = new RegisterRequest();
+    req.setEmail("madvirus@madvirus.net");
+    req.setName("최범균");
+    req.setPassword("1234");
+    req.setConfirmPassword("1234");
+    regSvc.regist(req);
+    System.out.println(routing);
+    execute(replicaDb, "insert into member (email, password, name, regdate) "
+        + "values ('madvirus@madvirus.net', '1234', '최범균', now())");
+
+    System.out.println("\n== 읽기 전용 트랜잭션 ==");
+    listPrinter.printAll();
+    System.out.println(routing);
+
+    System.out.println("\n== 일반 트랜잭션: 조회 + 삽입 ==");
+    RegisterRequest req2 = new RegisterRequest();
+    req2.setEmail("daewon@wisoft.io");
+    req2.setName("pdw");
+    req2.setPassword("1234");
+    req2.setConfirmPassword("1234");
+    regSvc.registAll(Collections.singletonList(req2));
+    System.out.println(routing);
+
+    System.out.println("\n== 트랜잭션 밖: count ==");
+    System.out.println("count=" + memberDao.count());
+    System.out.println(routing);
+
+    System.out.println("\n== 복제 DB 내림 ==");
+    execute(replicaDb, "shutdown");
+    TimeUnit.SECONDS.sleep(1);
+    listPrinter.printAll();
+    System.out.println("count=" + memberDao.count());
+    System.out.println(routing);
+
+    ctx.close();
+  }
+
+  private static void execute(final Connection con, final String sql) throws SQLException {
+    try (Statement stmt = con.createStatement()) {
+      stmt.execute(sql);
+    }
+  }
+
+}
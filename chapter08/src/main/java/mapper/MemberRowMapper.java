@@ -1,13 +1,60 @@
 package mapper;
 
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import spring.Member;
 
 import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
 
+// 변경할 수 없으므로 INSTANCE(VERSION 컬럼 없음)나 VERSIONED 하나를 공유해서 사용
+// 여러 행을 읽을 때는 LIST_EXTRACTOR/callback()을 쓰면 컬럼 위치를 ResultSet마다 한 번만 찾음
 public class MemberRowMapper implements RowMapper<Member> {
 
+  public static final MemberRowMapper INSTANCE = new MemberRowMapper();
+  public static final MemberRowMapper VERSIONED = new MemberRowMapper(true);
+
+  private final boolean versioned;
+
+  public MemberRowMapper() {
+    this(false);
+  }
+
+  // versioned이면 VERSION 컬럼도 읽음 (낙관적 잠금을 사용할 때만 있는 컬럼)
+  public MemberRowMapper(final boolean versioned) {
+    this.versioned = versioned;
+  }
+
+  public static final ResultSetExtractor<List<Member>> LIST_EXTRACTOR = rs -> {
+    List<Member> members = new ArrayList<>();
+    if (!rs.next()) return members;
+    Columns columns = new Columns(rs);
+    do {
+      members.add(columns.map(rs));
+    } while (rs.next());
+    return members;
+  };
+
+  public static RowCallbackHandler callback(final Consumer<Member> action) {
+    return new RowCallbackHandler() {
+      private Columns columns;
+
+      @Override
+      public void processRow(final ResultSet rs) throws SQLException {
+        if (columns == null) columns = new Columns(rs);
+        action.accept(columns.map(rs));
+      }
+    };
+  }
+
+  // 행마다 컬럼 이름으로 찾는 방식 (한 건만 읽을 때 사용)
+  // VERSION 컬럼이 있는지 메타데이터를 뒤지지 않도록 생성할 때 정한 versioned를 따름
   @Override
   public Member mapRow(final ResultSet rs, final int rowNum) throws SQLException {
     Member member = new Member(
@@ -16,7 +63,50 @@ public class MemberRowMapper implements RowMapper<Member> {
         rs.getString("NAME"),
         rs.getTimestamp("REGDATE").toLocalDateTime());
     member.setId(rs.getLong("ID"));
+    if (versioned) member.setVersion(rs.getInt("VERSION"));
     return member;
   }
 
+  // VERSION 컬럼은 낙관적 잠금을 사용할 때만 있으므로 없으면 0 (ResultSet마다 한 번만 호출)
+  private static int findOptionalColumn(final ResultSet rs, final String label) throws SQLException {
+    ResultSetMetaData meta = rs.getMetaData();
+    for (int i = 1; i <= meta.getColumnCount(); i++) {
+      if (label.equalsIgnoreCase(meta.getColumnLabel(i))) return i;
+    }
+    return 0;
+  }
+
+  // ResultSet 메타데이터에서 한 번 찾아 둔 컬럼 위치
+  private static class Columns {
+
+    private final int id;
+    private final int email;
+    private final int password;
+    private final int name;
+    private final int regdate;
+    private final int version;
+
+    private Columns(final ResultSet rs) throws SQLException {
+      id = rs.findColumn("ID");
+      email = rs.findColumn("EMAIL");
+      password = rs.findColumn("PASSWORD");
+      name = rs.findColumn("NAME");
+      regdate = rs.findColumn("REGDATE");
+      version = findOptionalColumn(rs, "VERSION");
+    }
+
+    private Member map(final ResultSet rs) throws SQLException {
+      Timestamp registerDateTime = rs.getTimestamp(regdate);
+      Member member = new Member(
+          rs.getString(email),
+          rs.getString(password),
+          rs.getString(name),
+          registerDateTime.toLocalDateTime());
+      member.setId(rs.getLong(id));
+      if (version > 0) member.setVersion(rs.getInt(version));
+      return member;
+    }
+
+  }
+
 }
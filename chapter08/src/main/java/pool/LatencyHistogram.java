@@ -0,0 +1,109 @@
+package pool;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// 마이크로초 단위 로그 스케일 히스토그램 (잠금 없이 기록)
+// 2의 거듭제곱 구간마다 8개의 하위 구간으로 나누므로 백분위 값의 오차는 12.5% 이내
+// 0 ~ 7us는 1us 단위, 그 이상은 구간의 상한 값으로 백분위를 계산
+public class LatencyHistogram {
+
+  private static final int SUB_BUCKETS = 8;
+  private static final int SUB_BITS = 3;
+  // 2^40us(약 12일)까지 기록하고 그보다 큰 값은 마지막 구간에 넣음
+  private static final int BUCKETS = (40 - SUB_BITS + 1) * SUB_BUCKETS;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+  private final LongAdder sumMicros = new LongAdder();
+  private final AtomicLong maxMicros = new AtomicLong();
+
+  public void record(final long nanos) {
+    long micros = Math.max(0, nanos / 1000);
+    counts.incrementAndGet(indexOf(micros));
+    sumMicros.add(micros);
+    if (micros > maxMicros.get()) maxMicros.accumulateAndGet(micros, Math::max);
+  }
+
+  // 지금까지 기록한 값을 돌려주고 비움 (기록 중인 값은 다음 스냅샷에 포함될 수 있음)
+  public Snapshot snapshotAndReset() {
+    long[] copy = new long[BUCKETS];
+    for (int i = 0; i < BUCKETS; i++) copy[i] = counts.getAndSet(i, 0);
+    long total = 0;
+    for (long c : copy) total += c;
+    return new Snapshot(copy, total, sumMicros.sumThenReset(), maxMicros.getAndSet(0));
+  }
+
+  public Snapshot snapshot() {
+    long[] copy = new long[BUCKETS];
+    long total = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      copy[i] = counts.get(i);
+      total += copy[i];
+    }
+    return new Snapshot(copy, total, sumMicros.sum(), maxMicros.get());
+  }
+
+  private static int indexOf(final long micros) {
+    if (micros < SUB_BUCKETS) return (int) micros;
+    int exp = 63 - Long.numberOfLeadingZeros(micros);
+    int sub = (int) (micros >>> (exp - SUB_BITS)) & (SUB_BUCKETS - 1);
+    return Math.min(BUCKETS - 1, (exp - SUB_BITS + 1) * SUB_BUCKETS + sub);
+  }
+
+  // 구간에 들어가는 가장 큰 값
+  private static long upperBoundOf(final int index) {
+    if (index < SUB_BUCKETS) return index;
+    int exp = index / SUB_BUCKETS + SUB_BITS - 1;
+    int sub = index % SUB_BUCKETS;
+    return ((long) (SUB_BUCKETS + sub + 1) << (exp - SUB_BITS)) - 1;
+  }
+
+  public static class Snapshot {
+
+    private final long[] counts;
+    private final long count;
+    private final long sumMicros;
+    private final long maxMicros;
+
+    private Snapshot(final long[] counts, final long count, final long sumMicros, final long maxMicros) {
+      this.counts = counts;
+      this.count = count;
+      this.sumMicros = sumMicros;
+      this.maxMicros = maxMicros;
+    }
+
+    public long getCount() {
+      return count;
+    }
+
+    public double getMeanMillis() {
+      return count == 0 ? 0 : sumMicros / 1000.0 / count;
+    }
+
+    public double getMaxMillis() {
+      return maxMicros / 1000.0;
+    }
+
+    // percentile은 0 ~ 1 (예: 0.99)
+    public double getPercentileMillis(final double percentile) {
+      if (count == 0) return 0;
+      long rank = (long) Math.ceil(percentile * count);
+      long seen = 0;
+      for (int i = 0; i < counts.length; i++) {
+        seen += counts[i];
+        if (seen >= rank) return Math.min(upperBoundOf(i), maxMicros) / 1000.0;
+      }
+      return getMaxMillis();
+    }
+
+    @Override
+    public String toString() {
+      return String.format("count=%d, mean=%.2fms, p50=%.2fms, p95=%.2fms, p99=%.2fms, max=%.2fms",
+          count, getMeanMillis(), getPercentileMillis(0.5), getPercentileMillis(0.95),
+          getPercentileMillis(0.99), getMaxMillis());
+    }
+
+  }
+
+}
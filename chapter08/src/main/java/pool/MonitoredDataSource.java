@@ -0,0 +1,128 @@
+package pool;
+
+import org.apache.tomcat.jdbc.pool.ConnectionPool;
+import org.apache.tomcat.jdbc.pool.DataSource;
+import org.apache.tomcat.jdbc.pool.PoolExhaustedException;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// 사용 기록(PoolMonitor)을 남기는 tomcat-jdbc DataSource
+// 설정은 DataSource와 같고, 추가로 누수 기준 시간과 크기 자동 조절(AdaptivePoolSizer)을 지정할 수 있음
+// 풀을 만들 때 "pool-monitor" 데몬 스레드를 시작해서 monitorInterval마다 누수를 검사하고 크기를 조절
+public class MonitoredDataSource extends DataSource {
+
+  private final PoolMonitor monitor = new PoolMonitor(this);
+  private Duration monitorInterval = Duration.ofSeconds(5);
+  private AdaptivePoolSizer sizer;
+  private ScheduledExecutorService scheduler;
+  // 풀과 모니터를 만든 뒤에는 잠금 없이 확인 (getPool()도 createPool()을 부르므로 매번 잠그지 않도록 함)
+  private volatile boolean started;
+
+  public MonitoredDataSource() {
+    super.setJdbcInterceptors(monitorInterceptor());
+  }
+
+  // 다른 인터셉터를 지정해도 모니터 인터셉터는 항상 마지막에 추가
+  @Override
+  public void setJdbcInterceptors(final String interceptors) {
+    super.setJdbcInterceptors(interceptors == null || interceptors.trim().isEmpty()
+        ? monitorInterceptor() : interceptors + ";" + monitorInterceptor());
+  }
+
+  private String monitorInterceptor() {
+    return PoolMonitorInterceptor.class.getName() + "(monitor=" + monitor.getId() + ")";
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    // 풀을 처음 만드는 시간(initialSize만큼 연결)은 대기 시간에 넣지 않음
+    if (!started) createPool();
+    long start = System.nanoTime();
+    try {
+      Connection con = super.getConnection();
+      monitor.borrowWait(System.nanoTime() - start);
+      return con;
+    } catch (PoolExhaustedException e) {
+      monitor.borrowTimeout(System.nanoTime() - start);
+      throw e;
+    }
+  }
+
+  @Override
+  public ConnectionPool createPool() throws SQLException {
+    if (started) return pool;
+    synchronized (this) {
+      if (!started) {
+        super.createPool();
+        startMonitor();
+        started = true;
+      }
+    }
+    return pool;
+  }
+
+  // createPool()의 잠금 안에서 한 번만 호출
+  private void startMonitor() {
+    scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+      Thread thread = new Thread(r, "pool-monitor");
+      thread.setDaemon(true);
+      return thread;
+    });
+    long interval = monitorInterval.toMillis();
+    scheduler.scheduleWithFixedDelay(this::tick, interval, interval, TimeUnit.MILLISECONDS);
+  }
+
+  private void tick() {
+    // 익셉션이 나면 다음 실행이 취소되므로 여기서 처리
+    try {
+      monitor.checkLeaks();
+      AdaptivePoolSizer sizer = getAdaptiveSizing();
+      if (sizer != null) sizer.adjust(this, monitor);
+    } catch (RuntimeException e) {
+      System.err.println("[pool] 모니터 실행 실패: " + e);
+    }
+  }
+
+  @Override
+  public void close(final boolean all) {
+    synchronized (this) {
+      if (scheduler != null) scheduler.shutdownNow();
+      scheduler = null;
+      started = false;
+    }
+    monitor.unregister();
+    super.close(all);
+  }
+
+  public PoolMonitor getMonitor() {
+    return monitor;
+  }
+
+  public PoolMonitor.Stats getStats() {
+    return monitor.getStats();
+  }
+
+  // 이 시간보다 오래 반환하지 않은 커넥션을 누수 의심으로 경고 (0이면 검사하지 않음)
+  public void setLeakThreshold(final Duration leakThreshold) {
+    monitor.setLeakThreshold(leakThreshold);
+  }
+
+  // 풀을 만들기 전에 지정해야 함
+  public synchronized void setMonitorInterval(final Duration monitorInterval) {
+    this.monitorInterval = monitorInterval;
+  }
+
+  public synchronized AdaptivePoolSizer getAdaptiveSizing() {
+    return sizer;
+  }
+
+  public synchronized void setAdaptiveSizing(final AdaptivePoolSizer sizer) {
+    this.sizer = sizer;
+  }
+
+}
@@ -0,0 +1,210 @@
+package pool;
+
+import org.apache.tomcat.jdbc.pool.DataSource;
+import org.apache.tomcat.jdbc.pool.PooledConnection;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// 커넥션 풀 사용 기록
+// - borrowWait: getConnection()이 커넥션을 얻을 때까지 기다린 시간
+// - holdTime: 커넥션을 빌려서 close()로 반환할 때까지의 시간
+// - lifetime: 실제 DB 연결이 만들어져서 닫힐 때까지의 시간
+// - 반환하지 않고 leakThreshold보다 오래 가지고 있는 커넥션은 누수 의심으로 한 번 경고 (빌린 위치의 스택 포함)
+// 풀이 만드는 인터셉터(PoolMonitorInterceptor)는 생성자로 객체를 받을 수 없으므로 id로 모니터를 찾음
+public class PoolMonitor {
+
+  private static final Map<Integer, PoolMonitor> MONITORS = new ConcurrentHashMap<>();
+  private static final AtomicInteger IDS = new AtomicInteger();
+
+  private final int id = IDS.incrementAndGet();
+  private final DataSource dataSource;
+  private volatile long leakThresholdNanos;
+
+  private final LatencyHistogram borrowWait = new LatencyHistogram();
+  private final LatencyHistogram windowBorrowWait = new LatencyHistogram();
+  private final LatencyHistogram holdTime = new LatencyHistogram();
+  private final LatencyHistogram lifetime = new LatencyHistogram();
+  private final LongAdder borrowTimeouts = new LongAdder();
+  private final LongAdder leaks = new LongAdder();
+  private final AtomicInteger windowPeakActive = new AtomicInteger();
+  private final Map<PooledConnection, Borrow> borrowed = new ConcurrentHashMap<>();
+
+  public PoolMonitor(final DataSource dataSource) {
+    this.dataSource = dataSource;
+    MONITORS.put(id, this);
+  }
+
+  static PoolMonitor get(final int id) {
+    return MONITORS.get(id);
+  }
+
+  int getId() {
+    return id;
+  }
+
+  void unregister() {
+    MONITORS.remove(id);
+  }
+
+  // 0이면 누수를 검사하지 않음
+  public void setLeakThreshold(final Duration leakThreshold) {
+    this.leakThresholdNanos = leakThreshold.toNanos();
+  }
+
+  void borrowWait(final long nanos) {
+    borrowWait.record(nanos);
+    windowBorrowWait.record(nanos);
+  }
+
+  void borrowTimeout(final long nanos) {
+    borrowTimeouts.increment();
+    borrowWait(nanos);
+  }
+
+  void borrowed(final PooledConnection con) {
+    // 누수 검사를 할 때만 스택을 저장 (Throwable 생성 비용)
+    Throwable stack = leakThresholdNanos > 0 ? new Throwable("borrowed by " + Thread.currentThread().getName()) : null;
+    borrowed.put(con, new Borrow(System.nanoTime(), stack));
+    windowPeakActive.accumulateAndGet(borrowed.size(), Math::max);
+  }
+
+  void returned(final PooledConnection con) {
+    Borrow borrow = borrowed.remove(con);
+    if (borrow != null) holdTime.record(System.nanoTime() - borrow.startNanos);
+  }
+
+  void disconnected(final PooledConnection con) {
+    // 빌린 채로 닫힌 커넥션(removeAbandoned 등)도 목록에서 제거
+    borrowed.remove(con);
+    long connected = con.getLastConnected();
+    if (connected > 0) lifetime.record((System.currentTimeMillis() - connected) * 1_000_000);
+  }
+
+  // 주기적으로 호출. 새로 발견한 누수 의심 커넥션 수를 돌려줌
+  public int checkLeaks() {
+    long threshold = leakThresholdNanos;
+    if (threshold <= 0) return 0;
+    long now = System.nanoTime();
+    int found = 0;
+    for (Borrow borrow : borrowed.values()) {
+      if (borrow.reported || now - borrow.startNanos < threshold) continue;
+      borrow.reported = true;
+      found++;
+      leaks.increment();
+      System.err.printf("[pool] %.1f초 동안 반환하지 않은 커넥션 (누수 의심)\n", (now - borrow.startNanos) / 1e9);
+      if (borrow.stack != null) borrow.stack.printStackTrace();
+    }
+    return found;
+  }
+
+  // AdaptivePoolSizer가 호출. 직전 호출 이후의 대기 시간과 최대 사용 커넥션 수
+  LatencyHistogram.Snapshot takeWindow() {
+    return windowBorrowWait.snapshotAndReset();
+  }
+
+  int takeWindowPeakActive() {
+    return windowPeakActive.getAndSet(borrowed.size());
+  }
+
+  public Stats getStats() {
+    return new Stats(dataSource.getActive(), dataSource.getIdle(), dataSource.getSize(), dataSource.getMaxActive(),
+        dataSource.getWaitCount(), borrowTimeouts.sum(), leaks.sum(),
+        borrowWait.snapshot(), holdTime.snapshot(), lifetime.snapshot());
+  }
+
+  private static class Borrow {
+
+    private final long startNanos;
+    private final Throwable stack;
+    private volatile boolean reported;
+
+    private Borrow(final long startNanos, final Throwable stack) {
+      this.startNanos = startNanos;
+      this.stack = stack;
+    }
+
+  }
+
+  public static class Stats {
+
+    private final int active;
+    private final int idle;
+    private final int size;
+    private final int maxActive;
+    private final int waiting;
+    private final long borrowTimeoutCount;
+    private final long leakCount;
+    private final LatencyHistogram.Snapshot borrowWait;
+    private final LatencyHistogram.Snapshot holdTime;
+    private final LatencyHistogram.Snapshot lifetime;
+
+    Stats(final int active, final int idle, final int size, final int maxActive, final int waiting,
+          final long borrowTimeoutCount, final long leakCount, final LatencyHistogram.Snapshot borrowWait,
+          final LatencyHistogram.Snapshot holdTime, final LatencyHistogram.Snapshot lifetime) {
+      this.active = active;
+      this.idle = idle;
+      this.size = size;
+      this.maxActive = maxActive;
+      this.waiting = waiting;
+      this.borrowTimeoutCount = borrowTimeoutCount;
+      this.leakCount = leakCount;
+      this.borrowWait = borrowWait;
+      this.holdTime = holdTime;
+      this.lifetime = lifetime;
+    }
+
+    public int getActive() {
+      return active;
+    }
+
+    public int getIdle() {
+      return idle;
+    }
+
+    public int getSize() {
+      return size;
+    }
+
+    public int getMaxActive() {
+      return maxActive;
+    }
+
+    // 커넥션을 기다리고 있는 스레드 수
+    public int getWaiting() {
+      return waiting;
+    }
+
+    public long getBorrowTimeoutCount() {
+      return borrowTimeoutCount;
+    }
+
+    public long getLeakCount() {
+      return leakCount;
+    }
+
+    public LatencyHistogram.Snapshot getBorrowWait() {
+      return borrowWait;
+    }
+
+    public LatencyHistogram.Snapshot getHoldTime() {
+      return holdTime;
+    }
+
+    public LatencyHistogram.Snapshot getLifetime() {
+      return lifetime;
+    }
+
+    @Override
+    public String toString() {
+      return String.format("active=%d, idle=%d, size=%d, maxActive=%d, waiting=%d, timeout=%d, leak=%d\n"
+              + "  borrowWait: %s\n  holdTime:   %s\n  lifetime:   %s",
+          active, idle, size, maxActive, waiting, borrowTimeoutCount, leakCount, borrowWait, holdTime, lifetime);
+    }
+
+  }
+
+}
@@ -0,0 +1,46 @@
+package pool;
+
+import org.apache.tomcat.jdbc.pool.ConnectionPool;
+import org.apache.tomcat.jdbc.pool.JdbcInterceptor;
+import org.apache.tomcat.jdbc.pool.PoolProperties.InterceptorProperty;
+import org.apache.tomcat.jdbc.pool.PooledConnection;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+
+// 커넥션을 빌려줄 때(reset)와 close()로 반환할 때, 실제 연결을 닫을 때(disconnected)를 PoolMonitor에 알림
+// 풀이 실제 연결마다 하나씩 만들고 빌려줄 때마다 reset()을 호출해서 다시 사용함
+// 설정 예: pool.PoolMonitorInterceptor(monitor=1) (MonitoredDataSource가 추가)
+public class PoolMonitorInterceptor extends JdbcInterceptor {
+
+  private PoolMonitor monitor;
+  private PooledConnection connection;
+
+  @Override
+  public void setProperties(final Map<String, InterceptorProperty> properties) {
+    super.setProperties(properties);
+    InterceptorProperty id = properties.get("monitor");
+    if (id != null) monitor = PoolMonitor.get(id.getValueAsInt(-1));
+  }
+
+  @Override
+  public void reset(final ConnectionPool parent, final PooledConnection con) {
+    connection = con;
+    if (monitor != null && con != null) monitor.borrowed(con);
+  }
+
+  @Override
+  public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+    if (monitor != null && connection != null && compare(CLOSE_VAL, method)) {
+      monitor.returned(connection);
+    }
+    return super.invoke(proxy, method, args);
+  }
+
+  @Override
+  public void disconnected(final ConnectionPool parent, final PooledConnection con, final boolean finalizing) {
+    if (monitor != null) monitor.disconnected(con);
+    super.disconnected(parent, con, finalizing);
+  }
+
+}
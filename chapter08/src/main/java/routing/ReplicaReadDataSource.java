@@ -0,0 +1,35 @@
+package routing;
+
+import org.springframework.core.InfrastructureProxy;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+// 조회 전용 JdbcTemplate에 사용하는 DataSource
+// - 트랜잭션 안: 트랜잭션의 커넥션을 그대로 사용 (InfrastructureProxy로 transactionalDataSource와 같은 키로 취급됨)
+//   읽기 전용 트랜잭션이면 복제 DB, 아니면 primary 커넥션이므로 같은 트랜잭션에서 쓴 데이터를 읽을 수 있음
+// - 트랜잭션 밖: ReplicaRoutingDataSource의 복제 DB 커넥션
+public class ReplicaReadDataSource extends DelegatingDataSource implements InfrastructureProxy {
+
+  private final ReplicaRoutingDataSource routingDataSource;
+
+  // transactionalDataSource: 트랜잭션 관리자와 DAO가 사용하는 DataSource (routingDataSource를 감싼 LazyConnectionDataSourceProxy)
+  public ReplicaReadDataSource(final ReplicaRoutingDataSource routingDataSource,
+                               final DataSource transactionalDataSource) {
+    super(transactionalDataSource);
+    this.routingDataSource = routingDataSource;
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    return routingDataSource.getReadConnection();
+  }
+
+  @Override
+  public Object getWrappedObject() {
+    return obtainTargetDataSource();
+  }
+
+}
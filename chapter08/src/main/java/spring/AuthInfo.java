@@ -0,0 +1,27 @@
+package spring;
+
+public class AuthInfo {
+
+  private Long id;
+  private String email;
+  private String name;
+
+  public AuthInfo(final Long id, final String email, final String name) {
+    this.id = id;
+    this.email = email;
+    this.name = name;
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public String getEmail() {
+    return email;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+}
@@ -0,0 +1,36 @@
+package spring;
+
+import password.PasswordHasher;
+
+public class AuthService {
+
+  private MemberDao memberDao;
+  private PasswordHasher passwordHasher;
+
+  public AuthInfo authenticate(final String email, final String password) {
+    Member member = memberDao.selectByEmail(email);
+    if (member == null) {
+      // 회원이 있을 때와 응답 시간이 같도록 해시 비교를 한 번 함
+      passwordHasher.dummyMatch(password);
+      throw new WrongIdPasswordException();
+    }
+    if (!passwordHasher.matches(password, member.getPassword())) {
+      throw new WrongIdPasswordException();
+    }
+    // 평문으로 저장되어 있거나 지금보다 적은 반복 횟수로 해시되어 있으면 현재 설정으로 다시 해시
+    // 그 사이에 비밀번호가 바뀌었으면 변경하지 않음
+    if (passwordHasher.needsRehash(member.getPassword())) {
+      memberDao.changePassword(email, member.getPassword(), passwordHasher.hash(password));
+    }
+    return new AuthInfo(member.getId(), member.getEmail(), member.getName());
+  }
+
+  public void setMemberDao(final MemberDao memberDao) {
+    this.memberDao = memberDao;
+  }
+
+  public void setPasswordHasher(final PasswordHasher passwordHasher) {
+    this.passwordHasher = passwordHasher;
+  }
+
+}
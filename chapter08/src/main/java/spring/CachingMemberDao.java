@@ -0,0 +1,254 @@
+package spring;
+
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+// selectByEmail 결과를 이메일 기준으로 캐시하는 MemberDao (CLOCK + TTL, 없는 이메일도 캐시)
+// 조회는 잠금 없이 ConcurrentHashMap에서 읽고 참조 표시만 남김. 크기를 넘으면 CLOCK으로 최근에 읽지 않은 항목부터 제거
+// (접근 순서 LinkedHashMap은 get()이 구조를 바꾸므로 모든 조회가 잠금 하나를 거쳐야 함)
+// 캐시에 넣을 값은 읽기 DataSource를 지정해도 primary에서 읽음
+// (복제 DB의 지연된 값이나 아직 복제되지 않은 회원의 "없음"이 TTL 동안 남지 않도록)
+public class CachingMemberDao extends MemberDao {
+
+  private final int maxSize;
+  private final long ttlNanos;
+  private long negativeTtlNanos;
+
+  private final ConcurrentHashMap<String, Entry> cache = new ConcurrentHashMap<>();
+  // CLOCK의 시계 바늘. evictionLock 안에서만 사용
+  private final ReentrantLock evictionLock = new ReentrantLock();
+  private Iterator<Entry> hand;
+
+  // 캐시 무효화가 일어날 때마다 증가. DB를 읽는 동안 무효화가 있었으면 읽은 값을 캐시에 넣지 않음
+  private final AtomicLong invalidationSeq = new AtomicLong();
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+  private final LongAdder invalidations = new LongAdder();
+
+  public CachingMemberDao(final DataSource dataSource, final int maxSize, final Duration ttl) {
+    super(dataSource);
+    if (maxSize < 1) throw new IllegalArgumentException("maxSize must be positive");
+    this.maxSize = maxSize;
+    this.ttlNanos = ttl.toNanos();
+    this.negativeTtlNanos = ttlNanos;
+  }
+
+  // 없는 이메일 결과를 유지할 시간. 가입 직후 다른 서버에서 보는 경우를 고려해 짧게 둘 수 있음
+  public void setNegativeTtl(final Duration negativeTtl) {
+    this.negativeTtlNanos = negativeTtl.toNanos();
+  }
+
+  @Override
+  public Member selectByEmail(final String email) {
+    // 현재 트랜잭션에서 변경한 회원은 커밋 전 값이 캐시에 들어가지 않도록 DB에서 바로 읽음
+    if (isWrittenInCurrentTransaction(email)) return selectByEmailFromPrimary(email);
+
+    Entry entry = cache.get(email);
+    if (entry != null) {
+      if (System.nanoTime() - entry.expiresAt < 0) {
+        // 이미 표시되어 있으면 쓰지 않음 (자주 읽는 항목의 캐시 라인을 스레드끼리 주고받지 않도록)
+        if (!entry.referenced) entry.referenced = true;
+        hits.increment();
+        return copy(entry.member);
+      }
+      if (cache.remove(email, entry)) evictions.increment();
+    }
+    misses.increment();
+
+    long seq = invalidationSeq.get();
+    Member member = selectByEmailFromPrimary(email);
+    // 읽기 전용 트랜잭션은 커넥션 자체가 복제 DB로 가므로 읽은 값을 캐시에 넣지 않음
+    if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) return member;
+    long expiresAt = System.nanoTime() + (member == null ? negativeTtlNanos : ttlNanos);
+    Entry loaded = new Entry(email, copy(member), expiresAt);
+    cache.put(email, loaded);
+    // 넣은 뒤에 확인해서 DB를 읽는 동안 무효화가 있었으면 넣은 항목을 다시 뺌
+    // (무효화는 순번을 올린 뒤 지우므로, 여기서 순번이 그대로면 그 무효화가 넣은 항목을 지움)
+    if (invalidationSeq.get() != seq) {
+      cache.remove(email, loaded);
+    } else if (cache.size() > maxSize) {
+      evict();
+    }
+    return member;
+  }
+
+  // 참조 표시가 있으면 지우고 넘어가고, 없거나 만료된 항목을 제거 (한 바퀴 돌면 모든 표시가 지워지므로 두 바퀴 안에 끝남)
+  // 다른 스레드가 제거 중이면 맡기고 돌아감 (그동안 크기가 잠시 maxSize를 넘을 수 있음)
+  private void evict() {
+    if (!evictionLock.tryLock()) return;
+    try {
+      long now = System.nanoTime();
+      for (int scanned = 0; cache.size() > maxSize && scanned < 2 * maxSize + 2; scanned++) {
+        if (hand == null || !hand.hasNext()) hand = cache.values().iterator();
+        if (!hand.hasNext()) return;
+        Entry entry = hand.next();
+        if (entry.referenced && now - entry.expiresAt < 0) {
+          entry.referenced = false;
+        } else if (cache.remove(entry.email, entry)) {
+          evictions.increment();
+        }
+      }
+    } finally {
+      evictionLock.unlock();
+    }
+  }
+
+  @Override
+  public void insert(final Member member) {
+    try {
+      super.insert(member);
+    } finally {
+      invalidate(member.getEmail());
+    }
+  }
+
+  @Override
+  public boolean insertIfAbsent(final Member member) {
+    try {
+      return super.insertIfAbsent(member);
+    } finally {
+      invalidate(member.getEmail());
+    }
+  }
+
+  @Override
+  public List<Long> insertAll(final Collection<Member> members) {
+    try {
+      return super.insertAll(members);
+    } finally {
+      for (Member member : members) invalidate(member.getEmail());
+    }
+  }
+
+  @Override
+  public void update(final Member member) {
+    try {
+      super.update(member);
+    } finally {
+      invalidate(member.getEmail());
+    }
+  }
+
+  @Override
+  public boolean changePassword(final String email, final String oldPassword, final String newPassword) {
+    try {
+      return super.changePassword(email, oldPassword, newPassword);
+    } finally {
+      invalidate(email);
+    }
+  }
+
+  // 바로 지우고, 트랜잭션 안이면 커밋/롤백이 끝난 뒤에 한 번 더 지움
+  // (트랜잭션이 끝나기 전에 다른 스레드가 이전 값을 다시 캐시에 넣었을 수 있으므로)
+  private void invalidate(final String email) {
+    evict(email);
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) return;
+
+    WrittenEmails written = (WrittenEmails) TransactionSynchronizationManager.getResource(this);
+    if (written == null) {
+      written = new WrittenEmails();
+      TransactionSynchronizationManager.bindResource(this, written);
+      TransactionSynchronizationManager.registerSynchronization(written);
+    }
+    written.emails.add(email);
+  }
+
+  private boolean isWrittenInCurrentTransaction(final String email) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) return false;
+    WrittenEmails written = (WrittenEmails) TransactionSynchronizationManager.getResource(this);
+    return written != null && written.emails.contains(email);
+  }
+
+  private void evict(final String email) {
+    invalidationSeq.incrementAndGet();
+    cache.remove(email);
+    invalidations.increment();
+  }
+
+  public void clear() {
+    invalidationSeq.incrementAndGet();
+    cache.clear();
+  }
+
+  public int size() {
+    return cache.size();
+  }
+
+  public long getHitCount() {
+    return hits.sum();
+  }
+
+  public long getMissCount() {
+    return misses.sum();
+  }
+
+  public long getEvictionCount() {
+    return evictions.sum();
+  }
+
+  public long getInvalidationCount() {
+    return invalidations.sum();
+  }
+
+  @Override
+  public String toString() {
+    long hit = hits.sum();
+    long total = hit + misses.sum();
+    return String.format("CachingMemberDao[size=%d, hit=%d, miss=%d, hitRate=%.1f%%, eviction=%d, invalidation=%d]",
+        size(), hit, total - hit, total == 0 ? 0.0 : hit * 100.0 / total,
+        evictions.sum(), invalidations.sum());
+  }
+
+  // 호출한 쪽이 changePassword()로 값을 바꿔도 캐시된 객체는 바뀌지 않도록 복사본을 주고받음
+  private static Member copy(final Member member) {
+    if (member == null) return null;
+    Member copy = new Member(member.getEmail(), member.getPassword(), member.getName(),
+        member.getRegisterDateTime());
+    copy.setId(member.getId());
+    copy.setVersion(member.getVersion());
+    return copy;
+  }
+
+  private static class Entry {
+
+    private final String email;
+    private final Member member;
+    private final long expiresAt;
+    // 마지막으로 시계 바늘이 지나간 뒤에 읽었는지 여부
+    private volatile boolean referenced;
+
+    private Entry(final String email, final Member member, final long expiresAt) {
+      this.email = email;
+      this.member = member;
+      this.expiresAt = expiresAt;
+    }
+
+  }
+
+  private class WrittenEmails extends TransactionSynchronizationAdapter {
+
+    private final Set<String> emails = new HashSet<>();
+
+    @Override
+    public void afterCompletion(final int status) {
+      TransactionSynchronizationManager.unbindResourceIfPossible(CachingMemberDao.this);
+      for (String email : emails) evict(email);
+    }
+
+  }
+
+}
@@ -0,0 +1,12 @@
+package spring;
+
+public enum CountMode {
+
+  // select count(*) 실행 (정확하지만 테이블 크기에 비례)
+  EXACT,
+  // 커밋된 insert를 반영하는 프로세스 내 카운터 (주기적으로 EXACT 값과 맞춤)
+  CACHED,
+  // PostgreSQL 통계(pg_class.reltuples) 기반 추정치 (마지막 ANALYZE/VACUUM 시점 기준)
+  ESTIMATED
+
+}
@@ -9,6 +9,8 @@ public class Member {
   private String password;
   private String name;
   private LocalDateTime registerDateTime;
+  // MemberDao.setVersioned(true)일 때만 사용 (MEMBER 테이블의 VERSION 컬럼)
+  private int version;
 
   public Member(final String email, final String password, final String name,
                 final LocalDateTime registerDateTime) {
@@ -42,6 +44,14 @@ public class Member {
     return registerDateTime;
   }
 
+  public int getVersion() {
+    return version;
+  }
+
+  public void setVersion(final int version) {
+    this.version = version;
+  }
+
   public void changePassword(final String oldPassword, final String newPassword) {
     if (!password.equals(oldPassword)) throw new WrongIdPasswordException();
     this.password = newPassword;
@@ -0,0 +1,90 @@
+package spring;
+
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+// 회원 수를 메모리에 유지하는 카운터
+// insert가 커밋된 뒤에만 더하고, 다른 프로세스의 변경은 주기적으로 select count(*)로 맞춤
+public class MemberCounter implements AutoCloseable {
+
+  private final LongSupplier exactCount;
+
+  private volatile boolean initialized;
+  private volatile long count;
+  // 지금까지 더한 값의 합. resync 도중에 더해진 값을 구분하는 데 사용
+  private long added;
+
+  private ScheduledExecutorService scheduler;
+
+  public MemberCounter(final LongSupplier exactCount) {
+    this.exactCount = exactCount;
+  }
+
+  public long get() {
+    if (!initialized) resync();
+    return count;
+  }
+
+  // 트랜잭션 안이면 커밋된 뒤에 반영하고, 롤백되면 반영하지 않음
+  public void added(final long n) {
+    if (n == 0) return;
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      add(n);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+      @Override
+      public void afterCommit() {
+        add(n);
+      }
+    });
+  }
+
+  private synchronized void add(final long n) {
+    count += n;
+    added += n;
+  }
+
+  // count(*)를 실행하는 동안 커밋된 insert는 결과에 포함됐을 수도 있으므로 다시 더해 둠
+  // (이때 생기는 오차는 다음 resync에서 바로잡힘)
+  public void resync() {
+    long addedBefore;
+    synchronized (this) {
+      addedBefore = added;
+    }
+    long exact = exactCount.getAsLong();
+    synchronized (this) {
+      count = exact + (added - addedBefore);
+      initialized = true;
+    }
+  }
+
+  public synchronized void startResync(final Duration interval) {
+    if (scheduler != null) throw new IllegalStateException("resync already started");
+    scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+      Thread t = new Thread(r, "member-count-resync");
+      t.setDaemon(true);
+      return t;
+    });
+    long millis = interval.toMillis();
+    scheduler.scheduleWithFixedDelay(() -> {
+      try {
+        resync();
+      } catch (RuntimeException e) {
+        e.printStackTrace();
+      }
+    }, millis, millis, TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public synchronized void close() {
+    if (scheduler != null) scheduler.shutdownNow();
+  }
+
+}
@@ -1,5 +1,7 @@
 package spring;
 
+import org.springframework.transaction.annotation.Transactional;
+
 public class MemberListPrinter {
 
   private MemberDao memberDao;
@@ -10,8 +12,10 @@ public class MemberListPrinter {
     this.printer = printer;
   }
 
+  // 한 번에 모두 읽지 않고 읽는 대로 출력 (커서를 쓰려면 트랜잭션이 필요)
+  @Transactional(readOnly = true)
   public void printAll() {
-    memberDao.selectAll().forEach(m -> printer.print(m));
+    memberDao.selectAll(printer::print);
   }
 
 }
@@ -0,0 +1,36 @@
+package startup;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+// enabled면 eagerBeanNames에 없는 애플리케이션 빈을 모두 lazy로 바꿈 (처음 getBean/주입될 때 생성)
+// 스프링 내부 빈(ROLE_INFRASTRUCTURE)과 이미 lazy 여부를 지정한 빈은 그대로 둠
+// BeanFactoryPostProcessor이므로 설정 클래스에서 static @Bean 메서드로 등록
+public class LazyInitPostProcessor implements BeanFactoryPostProcessor {
+
+  private final boolean enabled;
+  private final Set<String> eagerBeanNames;
+
+  public LazyInitPostProcessor(final boolean enabled, final String... eagerBeanNames) {
+    this.enabled = enabled;
+    this.eagerBeanNames = new HashSet<>(Arrays.asList(eagerBeanNames));
+  }
+
+  @Override
+  public void postProcessBeanFactory(final ConfigurableListableBeanFactory beanFactory) {
+    if (!enabled) return;
+    for (String name : beanFactory.getBeanDefinitionNames()) {
+      if (eagerBeanNames.contains(name)) continue;
+      BeanDefinition definition = beanFactory.getBeanDefinition(name);
+      if (definition.getRole() != BeanDefinition.ROLE_APPLICATION) continue;
+      if (!definition.isSingleton() || definition.isLazyInit()) continue;
+      definition.setLazyInit(true);
+    }
+  }
+
+}
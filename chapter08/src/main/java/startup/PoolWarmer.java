@@ -0,0 +1,43 @@
+package startup;
+
+import org.apache.tomcat.jdbc.pool.DataSource;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+
+import java.sql.SQLException;
+
+// tomcat-jdbc DataSource는 처음 getConnection()을 호출할 때 풀을 만들고 initialSize만큼 연결함
+// 첫 명령이 이 비용을 치르지 않도록 refresh가 끝나면 백그라운드 스레드에서 미리 풀을 만듦
+// (createPool()은 synchronized라서 도중에 요청이 오면 풀이 만들어질 때까지 기다렸다가 같은 풀을 사용)
+public class PoolWarmer implements ApplicationListener<ContextRefreshedEvent> {
+
+  private final DataSource dataSource;
+  private final boolean verbose;
+  private volatile Thread worker;
+
+  public PoolWarmer(final DataSource dataSource, final boolean verbose) {
+    this.dataSource = dataSource;
+    this.verbose = verbose;
+  }
+
+  @Override
+  public synchronized void onApplicationEvent(final ContextRefreshedEvent event) {
+    if (worker != null) return;
+    worker = new Thread(this::warmUp, "pool-warmer");
+    worker.setDaemon(true);
+    worker.start();
+  }
+
+  private void warmUp() {
+    long start = System.nanoTime();
+    try {
+      dataSource.createPool();
+      if (verbose) System.out.printf("[startup] 커넥션 풀 준비 완료 (%d개, %.1f ms)\n",
+          dataSource.getSize(), (System.nanoTime() - start) / 1e6);
+    } catch (SQLException e) {
+      // 실패해도 첫 요청에서 다시 풀 생성을 시도하므로 경고만 출력
+      System.err.println("[startup] 커넥션 풀 준비 실패: " + e.getMessage());
+    }
+  }
+
+}
@@ -1,7 +1,11 @@
 package io.wisoft.pdw.config;
 
+import io.wisoft.pdw.controller.MemberListController;
+import io.wisoft.pdw.controller.PoolStatsController;
 import io.wisoft.pdw.controller.RegisterController;
 import io.wisoft.pdw.controller.SurveyController;
+import io.wisoft.pdw.pool.MonitoredDataSource;
+import io.wisoft.pdw.spring.MemberDao;
 import io.wisoft.pdw.spring.MemberRegisterService;
 import io.wisoft.pdw.spring.RegisterRequest;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,6 +18,12 @@ public class ControllerConfig {
   @Autowired
   private MemberRegisterService memberRegisterService;
 
+  @Autowired
+  private MemberDao memberDao;
+
+  @Autowired
+  private MonitoredDataSource dataSource;
+
   @Bean
   public RegisterController registerController() {
     RegisterController controller = new RegisterController();
@@ -21,9 +31,23 @@ public class ControllerConfig {
     return controller;
   }
 
+  @Bean
+  public MemberListController memberListController() {
+    MemberListController controller = new MemberListController();
+    controller.setMemberDao(memberDao);
+    return controller;
+  }
+
   @Bean
   public SurveyController surveyController() {
     return new SurveyController();
   }
 
+  @Bean
+  public PoolStatsController poolStatsController() {
+    PoolStatsController controller = new PoolStatsController();
+    controller.setDataSource(dataSource);
+    return controller;
+  }
+
 }
@@ -0,0 +1,50 @@
+package io.wisoft.pdw.controller;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+public class ListCommand {
+
+  private Long afterId;
+  private int size = 20;
+
+  @DateTimeFormat(pattern = "yyyyMMddHH")
+  private LocalDateTime from;
+
+  @DateTimeFormat(pattern = "yyyyMMddHH")
+  private LocalDateTime to;
+
+  public Long getAfterId() {
+    return afterId;
+  }
+
+  public void setAfterId(final Long afterId) {
+    this.afterId = afterId;
+  }
+
+  public int getSize() {
+    return size;
+  }
+
+  public void setSize(final int size) {
+    this.size = size;
+  }
+
+  public LocalDateTime getFrom() {
+    return from;
+  }
+
+  public void setFrom(final LocalDateTime from) {
+    this.from = from;
+  }
+
+  public LocalDateTime getTo() {
+    return to;
+  }
+
+  public void setTo(final LocalDateTime to) {
+    this.to = to;
+  }
+
+}
@@ -0,0 +1,42 @@
+package io.wisoft.pdw.controller;
+
+import io.wisoft.pdw.spring.Member;
+import io.wisoft.pdw.spring.MemberDao;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.validation.Errors;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
+
+import java.util.List;
+
+@Controller
+public class MemberListController {
+
+  private static final int MAX_PAGE_SIZE = 100;
+
+  private MemberDao memberDao;
+
+  public void setMemberDao(final MemberDao memberDao) {
+    this.memberDao = memberDao;
+  }
+
+  // 한 건 더 읽어서 다음 페이지가 있는지 확인하고, 다음 페이지는 이번 페이지의 마지막 ID부터 조회
+  @GetMapping("/members")
+  public String list(@ModelAttribute("cmd") final ListCommand listCommand, final Errors errors,
+                     final Model model) {
+    if (errors.hasErrors()) return "member/memberList";
+    int size = Math.max(1, Math.min(listCommand.getSize(), MAX_PAGE_SIZE));
+    listCommand.setSize(size);
+    List<Member> members = memberDao.selectPage(
+        listCommand.getAfterId(), size + 1, listCommand.getFrom(), listCommand.getTo());
+    boolean hasNext = members.size() > size;
+    if (hasNext) {
+      members = members.subList(0, size);
+      model.addAttribute("nextAfterId", members.get(size - 1).getId());
+    }
+    model.addAttribute("members", members);
+    return "member/memberList";
+  }
+
+}
@@ -0,0 +1,25 @@
+package io.wisoft.pdw.controller;
+
+import io.wisoft.pdw.pool.MonitoredDataSource;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+// 커넥션 풀 상태(사용/유휴 커넥션 수, 대기/사용/연결 시간 분포, 누수 의심 수)를 텍스트로 응답
+@Controller
+public class PoolStatsController {
+
+  private MonitoredDataSource dataSource;
+
+  public void setDataSource(final MonitoredDataSource dataSource) {
+    this.dataSource = dataSource;
+  }
+
+  @GetMapping(value = "/pool/stats", produces = MediaType.TEXT_PLAIN_VALUE)
+  @ResponseBody
+  public String stats() {
+    return dataSource.getStats().toString();
+  }
+
+}
@@ -9,6 +9,18 @@ import java.sql.SQLException;
 
 public class MemberRowMapper implements RowMapper<Member> {
 
+  private final boolean versioned;
+
+  public MemberRowMapper() {
+    this(false);
+  }
+
+  // versioned이면 VERSION 컬럼도 읽음 (낙관적 잠금을 사용할 때만 있는 컬럼)
+  // 행마다 메타데이터에서 컬럼을 찾지 않도록 DAO 설정에 맞춰 정함
+  public MemberRowMapper(final boolean versioned) {
+    this.versioned = versioned;
+  }
+
   @Override
   public Member mapRow(final ResultSet rs, final int rowNum) throws SQLException {
     Member member = new Member(
@@ -17,6 +29,7 @@ public class MemberRowMapper implements RowMapper<Member> {
         rs.getString("NAME"),
         rs.getTimestamp("REGDATE").toLocalDateTime());
     member.setId(rs.getLong("ID"));
+    if (versioned) member.setVersion(rs.getInt("VERSION"));
     return member;
   }
 
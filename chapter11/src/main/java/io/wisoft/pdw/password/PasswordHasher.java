@@ -0,0 +1,272 @@
+package io.wisoft.pdw.password;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// PBKDF2(HMAC-SHA256)로 비밀번호를 해시
+// 저장 형식: pbkdf2$반복횟수$salt$해시 (salt와 해시는 Base64). 이 형식이 아닌 값은 이전에 평문으로 저장한 비밀번호로 취급
+// - 해시는 CPU를 많이 쓰므로 동시에 실행하는 해시 수를 스레드 수(기본 코어 수)로 제한
+//   hash()/matches()는 호출한 스레드에서 바로 실행하고, 이미 그만큼 실행 중이면 자리가 날 때까지 기다림
+//   (다른 스레드에 넘기고 기다리면 스레드만 한 번 더 거칠 뿐이고, 요청이 몰리면 실패하지 않고 느려지도록 함)
+//   hashAsync()/matchesAsync()는 전용 스레드 풀에서 실행. 대기열이 차면 호출한 스레드에서 실행해서 속도를 늦춤
+// - 비교는 MessageDigest.isEqual()로 해서 앞에서부터 몇 바이트가 같은지에 따라 시간이 달라지지 않도록 함
+// - calibrate()는 해시 한 번이 목표 시간만큼 걸리도록 반복 횟수를 정함
+//   측정에 1초 넘게 걸리고 할 때마다 값이 조금씩 달라지므로, calibratedOnce()로 한 번만 측정해서 파일에 저장한 값을 계속 사용
+// - 저장된 값이 평문이거나 현재보다 반복 횟수가 적으면 needsRehash()가 true (로그인할 때 다시 해시해서 저장)
+public class PasswordHasher {
+
+  public static final int MIN_ITERATIONS = 10_000;
+  public static final int DEFAULT_ITERATIONS = 100_000;
+
+  private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+  private static final String PREFIX = "pbkdf2$";
+  private static final int SALT_BYTES = 16;
+  private static final int HASH_BITS = 256;
+  // 재시작할 때마다 측정값이 조금씩 달라도 반복 횟수가 바뀌지 않도록 이 단위로 맞춤
+  private static final int ITERATION_STEP = 10_000;
+  private static final long WARMUP_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+  private final SecureRandom random = new SecureRandom();
+  private final ThreadPoolExecutor executor;
+  private final Semaphore permits;
+  private volatile int iterations;
+  private volatile String dummyHash;
+
+  // 스레드는 코어 수만큼, 대기열은 스레드당 64개
+  public PasswordHasher(final int iterations) {
+    this(iterations, Runtime.getRuntime().availableProcessors(),
+        Runtime.getRuntime().availableProcessors() * 64);
+  }
+
+  public PasswordHasher(final int iterations, final int threads, final int queueCapacity) {
+    setIterations(iterations);
+    this.permits = new Semaphore(threads);
+    AtomicInteger seq = new AtomicInteger();
+    this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(queueCapacity), r -> {
+          Thread thread = new Thread(r, "password-hasher-" + seq.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        }, new ThreadPoolExecutor.CallerRunsPolicy());
+  }
+
+  public static PasswordHasher calibrated(final Duration target) {
+    PasswordHasher hasher = new PasswordHasher(MIN_ITERATIONS);
+    hasher.calibrate(target);
+    return hasher;
+  }
+
+  // 파일에 저장해 둔 반복 횟수를 사용. 파일이 없으면 DEFAULT_ITERATIONS로 시작하고
+  // 백그라운드에서 한 번 측정해서 적용한 뒤 파일에 저장 (시작이 느려지지 않고, 다음부터는 측정하지 않음)
+  public static PasswordHasher calibratedOnce(final Path file, final Duration target) {
+    try {
+      if (Files.exists(file)) {
+        String stored = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+        return new PasswordHasher(Integer.parseInt(stored.trim()));
+      }
+    } catch (IOException e) {
+      throw new IllegalStateException("cannot read " + file, e);
+    }
+    PasswordHasher hasher = new PasswordHasher(DEFAULT_ITERATIONS);
+    Thread thread = new Thread(() -> {
+      try {
+        int iterations = hasher.calibrate(target);
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.write(tmp, Integer.toString(iterations).getBytes(StandardCharsets.UTF_8));
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      } catch (IOException | RuntimeException e) {
+        System.err.println("[password] 반복 횟수 측정/저장 실패: " + e);
+      }
+    }, "password-hasher-calibration");
+    thread.setDaemon(true);
+    thread.start();
+    return hasher;
+  }
+
+  // 반복 횟수를 두 배씩 늘리면서 시간을 재다가 목표의 절반을 넘으면 비례해서 맞춤
+  // JIT 컴파일 전에는 몇 배 느리므로 먼저 1초 동안 반복하고, 횟수마다 세 번 재서 가장 짧은 시간을 사용
+  public int calibrate(final Duration target) {
+    char[] password = "calibration".toCharArray();
+    byte[] salt = new byte[SALT_BYTES];
+    long warmupEnd = System.nanoTime() + WARMUP_NANOS;
+    while (System.nanoTime() - warmupEnd < 0) pbkdf2(password, salt, MIN_ITERATIONS, HASH_BITS);
+    long targetNanos = target.toNanos();
+    int n = MIN_ITERATIONS;
+    long elapsed;
+    while (true) {
+      elapsed = Long.MAX_VALUE;
+      for (int i = 0; i < 3; i++) {
+        long start = System.nanoTime();
+        pbkdf2(password, salt, n, HASH_BITS);
+        elapsed = Math.min(elapsed, Math.max(1, System.nanoTime() - start));
+      }
+      if (elapsed >= targetNanos / 2 || n > Integer.MAX_VALUE / 4) break;
+      n *= 2;
+    }
+    double scaled = (double) n * targetNanos / elapsed;
+    long rounded = Math.round(scaled / ITERATION_STEP) * ITERATION_STEP;
+    setIterations((int) Math.min(Integer.MAX_VALUE, Math.max(MIN_ITERATIONS, rounded)));
+    // 없는 회원으로 처음 로그인할 때 dummyMatch()가 해시를 만드느라 더 오래 걸리지 않도록 미리 만들어 둠
+    dummyHash = encode("dummy", iterations);
+    return iterations;
+  }
+
+  public CompletableFuture<String> hashAsync(final String rawPassword) {
+    return CompletableFuture.supplyAsync(() -> hash(rawPassword), executor);
+  }
+
+  public CompletableFuture<Boolean> matchesAsync(final String rawPassword, final String encoded) {
+    if (!isHashed(encoded)) return CompletableFuture.completedFuture(matchesPlain(rawPassword, encoded));
+    return CompletableFuture.supplyAsync(() -> matches(rawPassword, encoded), executor);
+  }
+
+  public String hash(final String rawPassword) {
+    acquire();
+    try {
+      return encode(rawPassword, iterations);
+    } finally {
+      permits.release();
+    }
+  }
+
+  // 한꺼번에 넣어서 대기열을 혼자 차지하지 않도록 스레드 수만큼씩 나눠서 실행
+  public List<String> hashAll(final List<String> rawPasswords) {
+    List<String> hashes = new ArrayList<>(rawPasswords.size());
+    int window = executor.getMaximumPoolSize();
+    for (int from = 0; from < rawPasswords.size(); from += window) {
+      List<CompletableFuture<String>> futures = new ArrayList<>(window);
+      for (String raw : rawPasswords.subList(from, Math.min(from + window, rawPasswords.size()))) {
+        futures.add(hashAsync(raw));
+      }
+      for (CompletableFuture<String> future : futures) hashes.add(join(future));
+    }
+    return hashes;
+  }
+
+  public boolean matches(final String rawPassword, final String encoded) {
+    if (!isHashed(encoded)) return matchesPlain(rawPassword, encoded);
+    acquire();
+    try {
+      return matchesHashed(rawPassword, encoded);
+    } finally {
+      permits.release();
+    }
+  }
+
+  // 없는 회원이어도 해시 한 번만큼 시간을 써서 응답 시간으로 회원 여부를 알 수 없도록 함
+  public void dummyMatch(final String rawPassword) {
+    String dummy = dummyHash;
+    if (dummy == null || iterationsOf(dummy) != iterations) {
+      dummy = hash("dummy");
+      dummyHash = dummy;
+    }
+    matches(rawPassword, dummy);
+  }
+
+  public boolean needsRehash(final String encoded) {
+    return !isHashed(encoded) || iterationsOf(encoded) < iterations;
+  }
+
+  public int getIterations() {
+    return iterations;
+  }
+
+  public void setIterations(final int iterations) {
+    if (iterations < MIN_ITERATIONS) {
+      throw new IllegalArgumentException("iterations must be at least " + MIN_ITERATIONS);
+    }
+    this.iterations = iterations;
+  }
+
+  public void close() {
+    executor.shutdownNow();
+  }
+
+  @Override
+  public String toString() {
+    return "PasswordHasher[iterations=" + iterations + ", threads=" + executor.getMaximumPoolSize()
+        + ", running=" + (executor.getMaximumPoolSize() - permits.availablePermits())
+        + ", waiting=" + permits.getQueueLength() + ", queued=" + executor.getQueue().size() + "]";
+  }
+
+  private void acquire() {
+    try {
+      permits.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("interrupted while waiting to hash a password", e);
+    }
+  }
+
+  private String encode(final String rawPassword, final int iterations) {
+    byte[] salt = new byte[SALT_BYTES];
+    random.nextBytes(salt);
+    byte[] hash = pbkdf2(rawPassword.toCharArray(), salt, iterations, HASH_BITS);
+    Base64.Encoder encoder = Base64.getEncoder().withoutPadding();
+    return PREFIX + iterations + "$" + encoder.encodeToString(salt) + "$" + encoder.encodeToString(hash);
+  }
+
+  private boolean matchesHashed(final String rawPassword, final String encoded) {
+    String[] parts = encoded.split("\\$");
+    if (parts.length != 4) return false;
+    Base64.Decoder decoder = Base64.getDecoder();
+    byte[] salt = decoder.decode(parts[2]);
+    byte[] expected = decoder.decode(parts[3]);
+    byte[] actual = pbkdf2(rawPassword.toCharArray(), salt, Integer.parseInt(parts[1]), expected.length * 8);
+    return MessageDigest.isEqual(expected, actual);
+  }
+
+  private static boolean matchesPlain(final String rawPassword, final String stored) {
+    if (stored == null) return false;
+    return MessageDigest.isEqual(
+        rawPassword.getBytes(StandardCharsets.UTF_8), stored.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static boolean isHashed(final String encoded) {
+    return encoded != null && encoded.startsWith(PREFIX);
+  }
+
+  private static int iterationsOf(final String encoded) {
+    int end = encoded.indexOf('$', PREFIX.length());
+    return end < 0 ? 0 : Integer.parseInt(encoded.substring(PREFIX.length(), end));
+  }
+
+  private static byte[] pbkdf2(final char[] password, final byte[] salt, final int iterations, final int bits) {
+    try {
+      PBEKeySpec spec = new PBEKeySpec(password, salt, iterations, bits);
+      return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  // 해시 중에 난 익셉션은 CompletionException을 벗겨서 그대로 던짐
+  private static <T> T join(final CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+      throw e;
+    }
+  }
+
+}
@@ -0,0 +1,73 @@
+package io.wisoft.pdw.pool;
+
+import org.apache.tomcat.jdbc.pool.DataSource;
+
+import java.time.Duration;
+
+// 커넥션을 기다린 시간을 보고 maxActive를 minActive ~ maxActive 범위에서 조절
+// - 늘리기: 이번 구간의 p95 대기 시간이 targetWait보다 길고 풀을 모두 사용했으면 25%(최소 1개)만큼 바로 늘림
+// - 줄이기: 대기가 거의 없고(p95 < targetWait/4) 최대 사용량이 절반 미만인 구간이 shrinkAfter번 이어지면 1개씩 줄임
+// 늘리는 것은 빠르게, 줄이는 것은 천천히 해서 부하가 출렁일 때 크기가 오르내리지 않도록 함
+// tomcat-jdbc는 커넥션을 빌릴 때마다 maxActive를 다시 읽으므로 실행 중에 바꿔도 됨
+// 줄인 뒤 남는 유휴 커넥션은 반환할 때(풀 검사 스레드가 없으면) 또는 minEvictableIdleTime이 지나서 풀 검사 스레드가 닫음
+public class AdaptivePoolSizer {
+
+  private static final int MIN_SAMPLES = 10;
+
+  private final int minActive;
+  private final int maxActive;
+  private final long targetWaitMicros;
+  private final int shrinkAfter;
+
+  private int quietWindows;
+  private int resizeCount;
+
+  public AdaptivePoolSizer(final int minActive, final int maxActive, final Duration targetWait) {
+    this(minActive, maxActive, targetWait, 6);
+  }
+
+  public AdaptivePoolSizer(final int minActive, final int maxActive, final Duration targetWait, final int shrinkAfter) {
+    if (minActive < 1 || minActive > maxActive) {
+      throw new IllegalArgumentException("invalid bounds: " + minActive + " ~ " + maxActive);
+    }
+    this.minActive = minActive;
+    this.maxActive = maxActive;
+    this.targetWaitMicros = targetWait.toNanos() / 1000;
+    this.shrinkAfter = shrinkAfter;
+  }
+
+  // 모니터 스레드에서 주기적으로 호출
+  synchronized void adjust(final DataSource dataSource, final PoolMonitor monitor) {
+    LatencyHistogram.Snapshot window = monitor.takeWindow();
+    int peakActive = monitor.takeWindowPeakActive();
+    int current = dataSource.getMaxActive();
+    double p95Micros = window.getPercentileMillis(0.95) * 1000;
+
+    int next = current;
+    if (window.getCount() >= MIN_SAMPLES && p95Micros > targetWaitMicros && peakActive >= current) {
+      next = Math.min(maxActive, current + Math.max(1, current / 4));
+      quietWindows = 0;
+    } else if (p95Micros < targetWaitMicros / 4.0 && peakActive < current / 2) {
+      if (++quietWindows >= shrinkAfter) {
+        next = Math.max(minActive, current - 1);
+        quietWindows = 0;
+      }
+    } else {
+      quietWindows = 0;
+    }
+    next = Math.max(minActive, Math.min(maxActive, next));
+    if (next == current) return;
+
+    dataSource.setMaxActive(next);
+    dataSource.setMaxIdle(next);
+    if (dataSource.getMinIdle() > next) dataSource.setMinIdle(next);
+    resizeCount++;
+    System.out.printf("[pool] maxActive %d -> %d (p95 대기 %.2fms, 최대 사용 %d개)\n",
+        current, next, p95Micros / 1000, peakActive);
+  }
+
+  public synchronized int getResizeCount() {
+    return resizeCount;
+  }
+
+}
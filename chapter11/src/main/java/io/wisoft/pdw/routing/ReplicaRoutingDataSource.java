@@ -0,0 +1,206 @@
+package io.wisoft.pdw.routing;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// 읽기 전용 트랜잭션(@Transactional(readOnly = true))은 복제 DB로, 나머지는 primary로 보내는 DataSource
+// - 읽기 전용 여부는 트랜잭션을 시작한 뒤에 정해지므로 LazyConnectionDataSourceProxy로 감싸서 사용
+//   (DataSourceTransactionManager가 커넥션을 먼저 얻고 나서 읽기 전용 표시를 하기 때문)
+// - 트랜잭션 밖의 조회는 ReplicaReadDataSource를 통해 getReadConnection()으로 가져옴
+// - 복제 DB는 돌아가면서 사용하고, 연결에 실패하거나 상태 검사에 실패한 복제 DB는 다시 살아날 때까지 제외
+//   사용할 수 있는 복제 DB가 없으면 primary 사용
+// - 복제 지연은 고려하지 않으므로 방금 쓴 데이터를 읽어야 하면 읽기 전용이 아닌 트랜잭션 안에서 조회
+// close()는 상태 검사를 멈추고 복제 DB 풀을 닫음 (primary는 닫지 않음)
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+  private static final String PRIMARY = "primary";
+
+  private final DataSource primary;
+  private final List<Replica> replicas = new ArrayList<>();
+  private final Map<Object, Replica> replicasByKey = new HashMap<>();
+  private final AtomicInteger next = new AtomicInteger();
+  private final LongAdder primaryCount = new LongAdder();
+  private final LongAdder fallbackCount = new LongAdder();
+
+  private Duration healthCheckInterval = Duration.ofSeconds(10);
+  private int validationTimeoutSeconds = 2;
+  private ScheduledExecutorService healthChecker;
+
+  public ReplicaRoutingDataSource(final DataSource primary, final List<? extends DataSource> replicas) {
+    this.primary = primary;
+    Map<Object, Object> targets = new HashMap<>();
+    targets.put(PRIMARY, primary);
+    for (int i = 0; i < replicas.size(); i++) {
+      Replica replica = new Replica("replica-" + (i + 1), replicas.get(i));
+      this.replicas.add(replica);
+      replicasByKey.put(replica.key, replica);
+      targets.put(replica.key, replica.dataSource);
+    }
+    setTargetDataSources(targets);
+    setDefaultTargetDataSource(primary);
+    setLenientFallback(false);
+  }
+
+  @Override
+  public void afterPropertiesSet() {
+    super.afterPropertiesSet();
+    if (replicas.isEmpty()) return;
+    healthChecker = Executors.newSingleThreadScheduledExecutor(r -> {
+      Thread thread = new Thread(r, "replica-health");
+      thread.setDaemon(true);
+      return thread;
+    });
+    long interval = healthCheckInterval.toMillis();
+    healthChecker.scheduleWithFixedDelay(this::checkHealth, interval, interval, TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  protected Object determineCurrentLookupKey() {
+    return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? readKey() : PRIMARY;
+  }
+
+  // 사용할 수 있는 복제 DB를 차례대로 선택. 없으면 primary
+  private Object readKey() {
+    int size = replicas.size();
+    if (size == 0) return PRIMARY;
+    int start = Math.floorMod(next.getAndIncrement(), size);
+    for (int i = 0; i < size; i++) {
+      Replica replica = replicas.get((start + i) % size);
+      if (replica.healthy) return replica.key;
+    }
+    fallbackCount.increment();
+    return PRIMARY;
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    return connect(determineCurrentLookupKey());
+  }
+
+  // 트랜잭션과 상관없이 복제 DB 커넥션
+  public Connection getReadConnection() throws SQLException {
+    return connect(readKey());
+  }
+
+  // 복제 DB 연결에 실패하면 그 복제 DB를 제외하고 다시 선택
+  private Connection connect(final Object key) throws SQLException {
+    Object current = key;
+    while (true) {
+      Replica replica = replicasByKey.get(current);
+      if (replica == null) {
+        primaryCount.increment();
+        return primary.getConnection();
+      }
+      try {
+        Connection con = replica.dataSource.getConnection();
+        replica.count.increment();
+        return con;
+      } catch (SQLException e) {
+        markDown(replica, e);
+        current = readKey();
+      }
+    }
+  }
+
+  private void checkHealth() {
+    for (Replica replica : replicas) {
+      try (Connection con = replica.dataSource.getConnection()) {
+        if (con.isValid(validationTimeoutSeconds)) {
+          markUp(replica);
+        } else {
+          markDown(replica, null);
+        }
+      } catch (SQLException | RuntimeException e) {
+        markDown(replica, e);
+      }
+    }
+  }
+
+  private void markUp(final Replica replica) {
+    if (replica.healthy) return;
+    replica.healthy = true;
+    System.out.println("[routing] " + replica.key + " 복구");
+  }
+
+  private void markDown(final Replica replica, final Exception cause) {
+    if (!replica.healthy) return;
+    replica.healthy = false;
+    System.err.println("[routing] " + replica.key + " 제외" + (cause != null ? ": " + cause.getMessage() : ""));
+  }
+
+  // 대상별로 내준 커넥션 수 (primary, replica-1, ...)
+  public Map<String, Long> getConnectionCounts() {
+    Map<String, Long> counts = new LinkedHashMap<>();
+    counts.put(PRIMARY, primaryCount.sum());
+    for (Replica replica : replicas) counts.put(replica.key, replica.count.sum());
+    return Collections.unmodifiableMap(counts);
+  }
+
+  // 읽기 요청인데 사용할 수 있는 복제 DB가 없어서 primary로 보낸 횟수
+  public long getFallbackCount() {
+    return fallbackCount.sum();
+  }
+
+  public List<String> getHealthyReplicas() {
+    List<String> healthy = new ArrayList<>();
+    for (Replica replica : replicas) {
+      if (replica.healthy) healthy.add(replica.key);
+    }
+    return healthy;
+  }
+
+  // afterPropertiesSet() 전에 지정해야 함
+  public void setHealthCheckInterval(final Duration healthCheckInterval) {
+    this.healthCheckInterval = healthCheckInterval;
+  }
+
+  public void setValidationTimeoutSeconds(final int validationTimeoutSeconds) {
+    this.validationTimeoutSeconds = validationTimeoutSeconds;
+  }
+
+  public void close() {
+    if (healthChecker != null) healthChecker.shutdownNow();
+    for (Replica replica : replicas) {
+      if (replica.dataSource instanceof org.apache.tomcat.jdbc.pool.DataSource) {
+        ((org.apache.tomcat.jdbc.pool.DataSource) replica.dataSource).close();
+      }
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "connections=" + getConnectionCounts() + ", healthy=" + getHealthyReplicas()
+        + ", fallback=" + getFallbackCount();
+  }
+
+  private static class Replica {
+
+    private final String key;
+    private final DataSource dataSource;
+    private final LongAdder count = new LongAdder();
+    private volatile boolean healthy = true;
+
+    private Replica(final String key, final DataSource dataSource) {
+      this.key = key;
+      this.dataSource = dataSource;
+    }
+
+  }
+
+}
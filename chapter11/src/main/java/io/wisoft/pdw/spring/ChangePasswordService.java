@@ -1,21 +1,44 @@
 package io.wisoft.pdw.spring;
 
-import org.springframework.transaction.annotation.Transactional;
+import io.wisoft.pdw.password.PasswordHasher;
 
 public class ChangePasswordService {
 
   private MemberDao memberDao;
+  // 지정하지 않으면 이전처럼 비밀번호를 평문으로 비교하고 저장
+  private PasswordHasher passwordHasher;
 
-  @Transactional
+  // 조회 후 변경하지 않고 비밀번호 확인과 변경을 update 한 번으로 처리
+  // 변경하지 못한 경우에만 회원을 조회해서 없는 회원인지 비밀번호가 틀렸는지 구분
+  // 변경은 조건부 update 한 문장이므로 트랜잭션 없이 실행 (해시를 계산하는 동안 커넥션을 잡고 있지 않도록)
   public void changePassword(final String email, String oldPwd, final String newPwd) {
+    if (passwordHasher != null) {
+      changeHashedPassword(email, oldPwd, newPwd);
+      return;
+    }
+    if (memberDao.changePassword(email, oldPwd, newPwd)) return;
+    if (memberDao.selectByEmail(email) == null) throw new MemberNotFoundException();
+    throw new WrongIdPasswordException();
+  }
+
+  // 해시에는 salt가 있어서 쿼리로 비교할 수 없으므로 조회한 값으로 확인하고, 그 값이 그대로일 때만 변경
+  // 새 비밀번호는 기존 비밀번호가 맞을 때만 해시 (틀린 요청으로 해시 스레드를 쓰지 않도록)
+  private void changeHashedPassword(final String email, final String oldPwd, final String newPwd) {
     Member member = memberDao.selectByEmail(email);
     if (member == null) throw new MemberNotFoundException();
-    member.changePassword(oldPwd, newPwd);
-    memberDao.update(member);
+    if (!passwordHasher.matches(oldPwd, member.getPassword())) throw new WrongIdPasswordException();
+    // 조회한 뒤에 다른 곳에서 비밀번호를 바꿨으면(또는 복제 DB에서 이전 값을 읽었으면) 변경하지 않음
+    if (!memberDao.changePassword(email, member.getPassword(), passwordHasher.hash(newPwd))) {
+      throw new WrongIdPasswordException();
+    }
   }
 
   public void setMemberDao(final MemberDao memberDao) {
     this.memberDao = memberDao;
   }
 
+  public void setPasswordHasher(final PasswordHasher passwordHasher) {
+    this.passwordHasher = passwordHasher;
+  }
+
 }
\ No newline at end of file
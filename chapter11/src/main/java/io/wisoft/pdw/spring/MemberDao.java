@@ -1,6 +1,8 @@
 package io.wisoft.pdw.spring;
 
 import io.wisoft.pdw.mapper.MemberRowMapper;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
@@ -8,50 +10,204 @@ import org.springframework.jdbc.support.KeyHolder;
 import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 public class MemberDao {
 
+  private static final String INSERT_SQL =
+      "insert into MEMBER (EMAIL, PASSWORD, NAME, REGDATE) values (?, ?, ?, ?)";
+  private static final String INSERT_IF_ABSENT_SQL =
+      INSERT_SQL + " on conflict (EMAIL) do nothing returning ID";
+  private static final int MAX_IN_PARAMS = 1000;
+
   private JdbcTemplate jdbcTemplate;
+  // 조회에 사용 (setReadDataSource()로 복제 DB를 지정하지 않으면 jdbcTemplate과 같음)
+  private JdbcTemplate readJdbcTemplate;
+  private int batchSize = 1000;
+  // true면 VERSION 컬럼으로 낙관적 잠금 (alter table MEMBER add column VERSION integer not null default 0)
+  private boolean versioned;
+  private boolean upsertSupported = true;
 
   public MemberDao(final DataSource dataSource) {
     this.jdbcTemplate = new JdbcTemplate(dataSource);
+    this.readJdbcTemplate = jdbcTemplate;
   }
 
   public Member selectByEmail(final String email) {
-    List<Member> results = jdbcTemplate.query(
-        "select * from member where EMAIL = ?", new MemberRowMapper(), email);
+    List<Member> results = readJdbcTemplate.query(
+        "select * from member where EMAIL = ?", new MemberRowMapper(versioned), email);
     return results.isEmpty() ? null : results.get(0);
   }
 
   public void insert(final Member member) {
     KeyHolder keyHolder = new GeneratedKeyHolder();
     jdbcTemplate.update((Connection conn) -> {
-      PreparedStatement pstmt = conn.prepareStatement(
-          "insert into MEMBER (EMAIL, PASSWORD, NAME, REGDATE) values (?, ?, ?, ?)", new String[] {"id"});
-      pstmt.setString(1, member.getEmail());
-      pstmt.setString(2, member.getPassword());
-      pstmt.setString(3, member.getName());
-      pstmt.setTimestamp(4, Timestamp.valueOf(member.getRegisterDateTime()));
+      PreparedStatement pstmt = conn.prepareStatement(INSERT_SQL, new String[] {"id"});
+      setInsertParameters(pstmt, member);
       return pstmt;
     }, keyHolder);
     Number keyValue = keyHolder.getKey();
     member.setId(keyValue.longValue());
   }
 
+  // 같은 이메일이 없을 때만 삽입하고 생성된 아이디를 설정. 이미 있으면 false
+  // 확인과 삽입을 한 문장으로 하므로 동시에 같은 이메일로 가입해도 한 건만 들어감 (EMAIL의 unique 제약 필요)
+  public boolean insertIfAbsent(final Member member) {
+    if (!upsertSupported) {
+      try {
+        insert(member);
+        return true;
+      } catch (DuplicateKeyException e) {
+        return false;
+      }
+    }
+    List<Long> ids = jdbcTemplate.queryForList(INSERT_IF_ABSENT_SQL, Long.class,
+        member.getEmail(), member.getPassword(), member.getName(),
+        Timestamp.valueOf(member.getRegisterDateTime()));
+    if (ids.isEmpty()) return false;
+    member.setId(ids.get(0));
+    return true;
+  }
+
+  // false: ON CONFLICT (EMAIL)을 지원하지 않는 DB(예: H2)용. insert 후 unique 제약 위반(DuplicateKeyException)으로 판단
+  public void setUpsertSupported(final boolean upsertSupported) {
+    this.upsertSupported = upsertSupported;
+  }
+
+  // batchSize 개씩 묶어서 전송하고, 생성된 아이디를 전달받은 순서대로 Member에 설정
+  public List<Long> insertAll(final Collection<Member> members) {
+    List<Member> list = new ArrayList<>(members);
+    List<Long> ids = new ArrayList<>(list.size());
+    if (list.isEmpty()) return ids;
+    return jdbcTemplate.execute(
+        (Connection conn) -> conn.prepareStatement(INSERT_SQL, new String[] {"id"}),
+        (PreparedStatement pstmt) -> {
+          for (int from = 0; from < list.size(); from += batchSize) {
+            List<Member> batch = list.subList(from, Math.min(from + batchSize, list.size()));
+            for (Member member : batch) {
+              setInsertParameters(pstmt, member);
+              pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+            try (ResultSet keys = pstmt.getGeneratedKeys()) {
+              for (Member member : batch) {
+                if (!keys.next()) throw new IllegalStateException("missing generated key");
+                member.setId(keys.getLong(1));
+                ids.add(member.getId());
+              }
+            }
+          }
+          return ids;
+        });
+  }
+
+  private static void setInsertParameters(final PreparedStatement pstmt, final Member member)
+      throws SQLException {
+    pstmt.setString(1, member.getEmail());
+    pstmt.setString(2, member.getPassword());
+    pstmt.setString(3, member.getName());
+    pstmt.setTimestamp(4, Timestamp.valueOf(member.getRegisterDateTime()));
+  }
+
+  // 주어진 이메일 중 이미 등록된 이메일을 한 번의 쿼리로 조회 (파라미터가 많으면 나눠서 조회)
+  public Set<String> selectEmailsIn(final Collection<String> emails) {
+    if (emails.isEmpty()) return Collections.emptySet();
+    List<String> list = new ArrayList<>(emails);
+    Set<String> existing = new HashSet<>();
+    for (int from = 0; from < list.size(); from += MAX_IN_PARAMS) {
+      List<String> chunk = list.subList(from, Math.min(from + MAX_IN_PARAMS, list.size()));
+      String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+      existing.addAll(readJdbcTemplate.queryForList(
+          "select EMAIL from MEMBER where EMAIL in (" + placeholders + ")",
+          String.class, chunk.toArray()));
+    }
+    return existing;
+  }
+
+  public void setBatchSize(final int batchSize) {
+    if (batchSize < 1) throw new IllegalArgumentException("batchSize must be positive");
+    this.batchSize = batchSize;
+  }
+
+  // 조회 쿼리에 사용할 DataSource (예: 복제 DB로 보내는 ReplicaReadDataSource)
+  public void setReadDataSource(final DataSource readDataSource) {
+    this.readJdbcTemplate = new JdbcTemplate(readDataSource);
+  }
+
+  public void setVersioned(final boolean versioned) {
+    this.versioned = versioned;
+  }
+
+  // versioned이면 읽었을 때의 VERSION과 같을 때만 변경하고, 그 사이에 누가 변경(또는 삭제)했으면 익셉션 발생
   public void update(final Member member) {
-    jdbcTemplate.update(
-        "update MEMBER set NAME = ?, PASSWORD = ? where EMAIL = ?",
-        member.getName(), member.getPassword(), member.getEmail());
+    if (!versioned) {
+      jdbcTemplate.update(
+          "update MEMBER set NAME = ?, PASSWORD = ? where EMAIL = ?",
+          member.getName(), member.getPassword(), member.getEmail());
+      return;
+    }
+    int updated = jdbcTemplate.update(
+        "update MEMBER set NAME = ?, PASSWORD = ?, VERSION = VERSION + 1 where EMAIL = ? and VERSION = ?",
+        member.getName(), member.getPassword(), member.getEmail(), member.getVersion());
+    if (updated == 0) {
+      throw new OptimisticLockingFailureException(
+          "member " + member.getEmail() + " was changed or removed since version " + member.getVersion());
+    }
+    member.setVersion(member.getVersion() + 1);
+  }
+
+  // 현재 비밀번호가 oldPassword일 때만 변경 (확인과 변경을 한 문장으로 하므로 먼저 조회할 필요 없음)
+  // 변경한 행이 없으면(없는 이메일이거나 비밀번호가 다름) false
+  public boolean changePassword(final String email, final String oldPassword, final String newPassword) {
+    String sql = versioned
+        ? "update MEMBER set PASSWORD = ?, VERSION = VERSION + 1 where EMAIL = ? and PASSWORD = ?"
+        : "update MEMBER set PASSWORD = ? where EMAIL = ? and PASSWORD = ?";
+    return jdbcTemplate.update(sql, newPassword, email, oldPassword) > 0;
   }
 
   public List<Member> selectAll() {
-    return jdbcTemplate.query("select * from MEMBER", new MemberRowMapper());
+    return readJdbcTemplate.query("select * from MEMBER", new MemberRowMapper(versioned));
+  }
+
+  // 키셋 페이징: OFFSET 대신 마지막으로 본 ID 다음부터 읽으므로 뒤쪽 페이지도 PK 인덱스에서 바로 시작함
+  // afterId가 null이면 첫 페이지, from은 포함하고 to는 포함하지 않음
+  public List<Member> selectPage(final Long afterId, final int limit,
+                                 final LocalDateTime from, final LocalDateTime to) {
+    if (limit < 1) throw new IllegalArgumentException("limit must be positive");
+    StringBuilder sql = new StringBuilder("select * from MEMBER where 1 = 1");
+    List<Object> args = new ArrayList<>(4);
+    if (afterId != null) {
+      sql.append(" and ID > ?");
+      args.add(afterId);
+    }
+    if (from != null) {
+      sql.append(" and REGDATE >= ?");
+      args.add(Timestamp.valueOf(from));
+    }
+    if (to != null) {
+      sql.append(" and REGDATE < ?");
+      args.add(Timestamp.valueOf(to));
+    }
+    sql.append(" order by ID limit ?");
+    args.add(limit);
+    return readJdbcTemplate.query(sql.toString(), new MemberRowMapper(versioned), args.toArray());
+  }
+
+  public List<Member> selectPage(final Long afterId, final int limit) {
+    return selectPage(afterId, limit, null, null);
   }
 
   public int count() {
-    return jdbcTemplate.queryForObject("select count(*) from MEMBER", Integer.class);
+    return readJdbcTemplate.queryForObject("select count(*) from MEMBER", Integer.class);
   }
 
 }
\ No newline at end of file
@@ -1,11 +1,21 @@
 package io.wisoft.pdw.spring;
 
+import org.springframework.transaction.annotation.Transactional;
+import io.wisoft.pdw.password.PasswordHasher;
+
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 
 
 public class MemberRegisterService {
 
   private MemberDao memberDao;
+  // 지정하지 않으면 이전처럼 비밀번호를 평문으로 저장
+  private PasswordHasher passwordHasher;
 
   public MemberRegisterService() {
   }
@@ -15,17 +25,49 @@ public class MemberRegisterService {
   }
 
   public Long regist(final RegisterRequest req) {
-    // 이메일로 회원 데이터(Member) 조회
-    Member member = memberDao.selectByEmail(req.getEmail());
-    if (member != null) {
+    // 같은 이메일을 가진 회원이 존재하지 않으면 DB에 삽입 (조회 후 삽입하지 않고 한 번에 처리)
+    Member newMember = new Member(
+        req.getEmail(), encode(req.getPassword()), req.getName(), LocalDateTime.now());
+    if (!memberDao.insertIfAbsent(newMember)) {
       // 같은 이메일을 가진 회원이 이미 존재하면 익셉션 발생
       throw new DuplicateMemberException("dup email " + req.getEmail());
     }
-    // 같은 이메일을 가진 회원이 존재하지 않으면 DB에 삽입
-    Member newMember = new Member(
-        req.getEmail(), req.getPassword(), req.getName(), LocalDateTime.now());
-    memberDao.insert(newMember);
     return newMember.getId();
   }
 
+  @Transactional
+  public List<Long> registAll(final Collection<RegisterRequest> reqs) {
+    // 요청 안에서 같은 이메일이 반복되는지 먼저 확인
+    Set<String> emails = new LinkedHashSet<>();
+    for (RegisterRequest req : reqs) {
+      if (!emails.add(req.getEmail())) {
+        throw new DuplicateMemberException("dup email " + req.getEmail());
+      }
+    }
+    // 해시는 오래 걸리므로 첫 쿼리 전에 처리 (LazyConnectionDataSourceProxy는 첫 쿼리를 실행할 때 커넥션을 얻음)
+    List<String> passwords = new ArrayList<>(reqs.size());
+    for (RegisterRequest req : reqs) passwords.add(req.getPassword());
+    if (passwordHasher != null) passwords = passwordHasher.hashAll(passwords);
+    // 이미 등록된 이메일은 건별 selectByEmail 대신 한 번의 쿼리로 확인
+    Set<String> existing = memberDao.selectEmailsIn(emails);
+    if (!existing.isEmpty()) {
+      throw new DuplicateMemberException("dup email " + String.join(", ", existing));
+    }
+    LocalDateTime now = LocalDateTime.now();
+    List<Member> members = new ArrayList<>(reqs.size());
+    int i = 0;
+    for (RegisterRequest req : reqs) {
+      members.add(new Member(req.getEmail(), passwords.get(i++), req.getName(), now));
+    }
+    return memberDao.insertAll(members);
+  }
+
+  private String encode(final String rawPassword) {
+    return passwordHasher == null ? rawPassword : passwordHasher.hash(rawPassword);
+  }
+
+  public void setPasswordHasher(final PasswordHasher passwordHasher) {
+    this.passwordHasher = passwordHasher;
+  }
+
 }
\ No newline at end of file
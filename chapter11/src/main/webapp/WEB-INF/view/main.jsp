@@ -14,5 +14,6 @@
 <body>
 <p>환영합니다.</p>
 <p><a href="<c:url value='/register/step1'/>">[회원 가입하기]</a> </p>
+<p><a href="<c:url value='/members'/>">[회원 목록]</a> </p>
 </body>
 </html>
@@ -0,0 +1,46 @@
+<%@ taglib prefix="c" uri="http://java.sun.com/jsp/jstl/core" %>
+<%@ taglib prefix="form" uri="http://www.springframework.org/tags/form" %>
+<%@ page contentType="text/html;charset=UTF-8" language="java" %>
+<html>
+<head>
+    <title>회원 조회</title>
+</head>
+<body>
+<form:form modelAttribute="cmd" method="get">
+    <p>
+        <label>from: <form:input path="from"/></label>
+        <form:errors path="from"/>
+        ~
+        <label>to: <form:input path="to"/></label>
+        <form:errors path="to"/>
+        <input type="hidden" name="size" value="${cmd.size}">
+        <input type="submit" value="조회">
+    </p>
+</form:form>
+
+<table>
+    <tr>
+        <th>아이디</th><th>이메일</th><th>이름</th><th>가입일</th>
+    </tr>
+    <c:forEach var="mem" items="${members}">
+        <tr>
+            <td>${mem.id}</td>
+            <td>${mem.email}</td>
+            <td>${mem.name}</td>
+            <td>${mem.registerDateTime}</td>
+        </tr>
+    </c:forEach>
+</table>
+
+<c:if test="${!empty nextAfterId}">
+    <c:url var="nextUrl" value="/members">
+        <c:param name="afterId" value="${nextAfterId}"/>
+        <c:param name="size" value="${cmd.size}"/>
+        <c:if test="${!empty param.from}"><c:param name="from" value="${param.from}"/></c:if>
+        <c:if test="${!empty param.to}"><c:param name="to" value="${param.to}"/></c:if>
+    </c:url>
+    <p><a href="${nextUrl}">[다음]</a></p>
+</c:if>
+<p><a href="<c:url value='/members'/>">[처음으로]</a></p>
+</body>
+</html>